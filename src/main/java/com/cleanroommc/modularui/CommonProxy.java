@@ -10,6 +10,7 @@ import com.cleanroommc.modularui.screen.ModularContainer;
 import com.cleanroommc.modularui.test.ItemEditorGui;
 import com.cleanroommc.modularui.test.TestBlock;
 import com.cleanroommc.modularui.value.sync.GuiSyncManager;
+import com.cleanroommc.modularui.value.sync.SyncStatsCommand;
 
 import net.minecraft.util.Timer;
 import net.minecraftforge.common.MinecraftForge;
@@ -28,6 +29,8 @@ import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 import net.minecraftforge.registries.IForgeRegistry;
 
+import io.netty.util.ResourceLeakDetector;
+
 public class CommonProxy {
 
     void preInit(FMLPreInitializationEvent event) {
@@ -39,6 +42,10 @@ public class CommonProxy {
             TestBlock.preInit();
         }
 
+        if (ModularUIConfig.syncBufferLeakDetection) {
+            ResourceLeakDetector.setLevel(ResourceLeakDetector.Level.PARANOID);
+            ModularUI.LOGGER.info("Enabled paranoid buffer leak detection");
+        }
         NetworkHandler.init();
 
         GuiManager.registerFactory(TileEntityGuiFactory.INSTANCE);
@@ -51,6 +58,7 @@ public class CommonProxy {
 
     void onServerLoad(FMLServerStartingEvent event) {
         event.registerServerCommand(new ItemEditorGui.Command());
+        event.registerServerCommand(new SyncStatsCommand());
     }
 
     @SideOnly(Side.CLIENT)
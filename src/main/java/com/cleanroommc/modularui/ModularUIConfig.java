@@ -28,6 +28,43 @@ public class ModularUIConfig {
     @Config.Comment("If true and not specified otherwise, screens will try to use the 'vanilla_dark' theme.")
     public static boolean useDarkThemeByDefault = false;
 
+    @Config.Comment({"If true, widgets whose size settings and parent size did not change since the last layout keep their",
+            "previous size and position and their children are not laid out again. Disable this if a widget from another mod",
+            "does not update its layout, because it changes its layout without invalidating the layout cache."})
+    public static boolean layoutCache = true;
+
+    @Config.Comment("If true, all sync handler packets created in one tick are sent to the client as a single packet.")
+    public static boolean batchSyncPackets = true;
+
+    @Config.Comment({"If true, slots of modular containers are only synced by their sync handler and vanilla's slot sync is skipped.",
+            "Container listeners other than the player still receive slot changes."})
+    public static boolean syncSlotsOnlyWithSyncHandler = false;
+
+    @Config.Comment({"If true, values which are synced from client to server are sent at most once per tick. Only the latest value",
+            "is sent. Pending values are sent immediately when the mouse is released or a widget loses focus."})
+    public static boolean coalesceClientSyncs = true;
+
+    @Config.Comment({"Maximum amount of sync handler bytes sent to a single player per tick. Low and normal priority sync handlers",
+            "are synced in a later tick when the budget is used up. 0 means no limit."})
+    @Config.RangeInt(min = 0)
+    public static int syncByteBudgetPerTick = 0;
+
+    @Config.Comment({"If true, packets and bytes of each sync handler are counted. They can be viewed with '/modularui_sync' and in",
+            "the gui debug overlay."})
+    public static boolean syncStatistics = false;
+
+    @Config.Comment("Only every n-th call of a sync handler is timed for the sync statistics. 0 disables timing.")
+    @Config.RangeInt(min = 0)
+    public static int syncStatsTimingSampleRate = 16;
+
+    @Config.Comment({"If true, all sync packets received by an open gui are recorded to 'modularui/sync_recordings' in the game",
+            "directory. Recordings can be replayed in game with '/modularui_sync replay'."})
+    public static boolean recordSyncTraffic = false;
+
+    @Config.RequiresMcRestart
+    @Config.Comment("If true, netty leak detection is set to paranoid to find leaked sync buffers. This has a large performance impact and is only meant for debugging.")
+    public static boolean syncBufferLeakDetection = false;
+
     @Config.RequiresMcRestart
     @Config.Comment("Enables a test block, test item with a test gui and opening a gui by right clicking a diamond.")
     public static boolean enabledTestGuis = FMLLaunchHandler.isDeobfuscatedEnvironment();
@@ -27,7 +27,26 @@ public interface IGuiHolder<T extends GuiData> {
     }
 
     /**
-     * Called on server and client. Create only the main panel here. Only here you can add sync handlers to widgets directly.
+     * Called on server and client before {@link #buildUI(GuiData, GuiSyncManager)}. Sync handlers can be registered here with
+     * {@link GuiSyncManager#syncValue(String, int, com.cleanroommc.modularui.value.sync.SyncHandler)} and then be obtained by
+     * widgets with their key.
+     * <p>
+     * If this returns true, all sync handlers of the GUI must be registered here. The server will then not call
+     * {@link #buildUI(GuiData, GuiSyncManager)} and never creates any widgets. Widgets must only use sync handlers by key in
+     * this case, since sync handlers passed to widgets directly are only registered on client. If the player inventory is shown,
+     * {@link GuiSyncManager#bindPlayerInventory()} should be called here.
+     *
+     * @param data        information about the creation context
+     * @param syncManager sync manager where sync handlers should be registered
+     * @return true if all sync handlers were registered and the server does not need to build the UI
+     */
+    default boolean registerSyncHandlers(T data, GuiSyncManager syncManager) {
+        return false;
+    }
+
+    /**
+     * Called on client and on server if {@link #registerSyncHandlers(GuiData, GuiSyncManager)} returns false.
+     * Create only the main panel here. Only here you can add sync handlers to widgets directly.
      * If the widget to be synced is not in this panel yet (f.e. in another panel) the sync handler must be registered here
      * with {@link GuiSyncManager}.
      *
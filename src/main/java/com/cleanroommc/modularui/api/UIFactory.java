@@ -30,7 +30,22 @@ public interface UIFactory<D extends GuiData> {
     String getFactoryName();
 
     /**
-     * Creates the main panel for the GUI. Is called on client and server side.
+     * Registers the sync handlers of the GUI without creating widgets. Is called on client and server side before
+     * {@link #createPanel(GuiData, GuiSyncManager)}.
+     *
+     * @param guiData     gui data
+     * @param syncManager sync manager
+     * @return true if all sync handlers were registered and {@link #createPanel(GuiData, GuiSyncManager)} does not need to
+     * be called on server side
+     */
+    @ApiStatus.OverrideOnly
+    default boolean registerSyncHandlers(D guiData, GuiSyncManager syncManager) {
+        return false;
+    }
+
+    /**
+     * Creates the main panel for the GUI. Is called on client side and on server side if
+     * {@link #registerSyncHandlers(GuiData, GuiSyncManager)} returned false.
      *
      * @param guiData     gui data
      * @param syncManager sync manager
@@ -8,6 +8,7 @@ public interface ILayoutWidget {
     /**
      * Called after the children tried to calculate their size.
      * Might be called multiple times.
+     * Setters of values this depends on must call {@link com.cleanroommc.modularui.widget.sizer.Flex#invalidateLayoutCache()}.
      */
     void layoutWidgets();
 
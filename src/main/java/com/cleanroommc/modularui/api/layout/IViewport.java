@@ -57,27 +57,33 @@ public interface IViewport {
 
     static void getChildrenAt(IWidget parent, IViewportStack stack, HoveredWidgetList widgetList, int x, int y) {
         for (IWidget child : parent.getChildren()) {
-            if (!child.isEnabled()) {
-                continue;
+            if (child.isEnabled()) {
+                getChildAt(parent, child, stack, widgetList, x, y);
             }
-            if (child instanceof IViewport viewport) {
-                stack.pushViewport(viewport, parent.getArea());
-                child.transform(stack);
-                viewport.getSelfAt(stack, widgetList, x, y);
-                viewport.transformChildren(stack);
-                viewport.getWidgetsAt(stack, widgetList, x, y);
-                stack.popViewport(viewport);
-            } else {
-                stack.pushMatrix();
-                child.transform(stack);
-                if (child.isInside(stack, x, y)) {
-                    widgetList.add(child, stack.peek());
-                }
-                if (child.hasChildren()) {
-                    getChildrenAt(child, stack, widgetList, x, y);
-                }
-                stack.popMatrix();
+        }
+    }
+
+    /**
+     * Adds a single child and its children to the hovered widgets if they are below the mouse.
+     */
+    static void getChildAt(IWidget parent, IWidget child, IViewportStack stack, HoveredWidgetList widgetList, int x, int y) {
+        if (child instanceof IViewport viewport) {
+            stack.pushViewport(viewport, parent.getArea());
+            child.transform(stack);
+            viewport.getSelfAt(stack, widgetList, x, y);
+            viewport.transformChildren(stack);
+            viewport.getWidgetsAt(stack, widgetList, x, y);
+            stack.popViewport(viewport);
+        } else {
+            stack.pushMatrix();
+            child.transform(stack);
+            if (child.isInside(stack, x, y)) {
+                widgetList.add(child, stack.peek());
             }
+            if (child.hasChildren()) {
+                getChildrenAt(child, stack, widgetList, x, y);
+            }
+            stack.popMatrix();
         }
     }
 
@@ -26,6 +26,12 @@ public abstract class AbstractUIFactory<T extends GuiData> implements UIFactory<
     @NotNull
     public abstract IGuiHolder<T> getGuiHolder(T data);
 
+    @Override
+    public boolean registerSyncHandlers(T guiData, GuiSyncManager syncManager) {
+        IGuiHolder<T> guiHolder = Objects.requireNonNull(getGuiHolder(guiData), "Gui holder must not be null!");
+        return guiHolder.registerSyncHandlers(guiData, syncManager);
+    }
+
     @Override
     public ModularPanel createPanel(T guiData, GuiSyncManager syncManager) {
         IGuiHolder<T> guiHolder = Objects.requireNonNull(getGuiHolder(guiData), "Gui holder must not be null!");
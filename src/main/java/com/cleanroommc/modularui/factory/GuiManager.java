@@ -4,6 +4,7 @@ import com.cleanroommc.modularui.api.JeiSettings;
 import com.cleanroommc.modularui.api.UIFactory;
 import com.cleanroommc.modularui.network.NetworkHandler;
 import com.cleanroommc.modularui.network.packets.OpenGuiPacket;
+import com.cleanroommc.modularui.network.packets.PacketSyncBatch;
 import com.cleanroommc.modularui.screen.*;
 import com.cleanroommc.modularui.value.sync.GuiSyncManager;
 import com.cleanroommc.modularui.widget.WidgetTree;
@@ -18,6 +19,7 @@ import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.common.util.FakePlayer;
 import net.minecraftforge.event.entity.player.PlayerContainerEvent;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.PlayerEvent;
 import net.minecraftforge.fml.common.gameevent.TickEvent;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
@@ -63,16 +65,35 @@ public class GuiManager {
         // create panel, collect sync handlers and create container
         guiData.setJeiSettings(JeiSettings.DUMMY);
         GuiSyncManager syncManager = new GuiSyncManager(player);
-        ModularPanel panel = factory.createPanel(guiData, syncManager);
-        WidgetTree.collectSyncValues(syncManager, panel);
-        ModularContainer container = new ModularContainer(syncManager);
-        // sync to client
-        player.getNextWindowId();
-        player.closeContainer();
-        int windowId = player.currentWindowId;
-        PacketBuffer buffer = new PacketBuffer(Unpooled.buffer());
-        factory.writeGuiData(guiData, buffer);
-        NetworkHandler.sendToPlayer(new OpenGuiPacket<>(windowId, factory, buffer), player);
+        syncManager.setName(factory.getFactoryName());
+        syncManager.setSharedSyncKey(getSharedSyncKey(factory, guiData));
+        if (!factory.registerSyncHandlers(guiData, syncManager)) {
+            // the sync handlers are only known after building the widgets
+            ModularPanel panel = factory.createPanel(guiData, syncManager);
+            WidgetTree.collectSyncValues(syncManager, panel);
+        }
+        ModularContainer container;
+        int windowId;
+        try {
+            container = new ModularContainer(syncManager);
+            // sync to client
+            player.getNextWindowId();
+            player.closeContainer();
+            windowId = player.currentWindowId;
+            PacketBuffer buffer = new PacketBuffer(Unpooled.buffer());
+            factory.writeGuiData(guiData, buffer);
+            // the initial state of all sync handlers is sent with the open packet
+            PacketSyncBatch initialSync = new PacketSyncBatch(syncManager.captureInitialSync());
+            try {
+                NetworkHandler.sendToPlayer(new OpenGuiPacket<>(windowId, factory, buffer, syncManager.getNetworkKeyHash(), initialSync), player);
+            } finally {
+                initialSync.release();
+            }
+        } catch (RuntimeException e) {
+            // the container is never closed, so the sync manager must be closed here to leave its shared sync group
+            syncManager.onClose();
+            throw e;
+        }
         // open container // this mimics forge behaviour
         player.openContainer = container;
         player.openContainer.windowId = windowId;
@@ -81,12 +102,27 @@ public class GuiManager {
         MinecraftForge.EVENT_BUS.post(new PlayerContainerEvent.Open(player, container));
     }
 
+    /**
+     * Creates a key which is the same for all GUIs of the same factory opened at the same position.
+     */
+    private static String getSharedSyncKey(UIFactory<?> factory, GuiData guiData) {
+        if (!(guiData instanceof PosGuiData)) return null;
+        PosGuiData posGuiData = (PosGuiData) guiData;
+        String key = factory.getFactoryName() + ':' + posGuiData.getWorld().provider.getDimension() + ':' + posGuiData.getBlockPos().toLong();
+        if (guiData instanceof SidedPosGuiData) {
+            key += ":" + ((SidedPosGuiData) guiData).getSide();
+        }
+        return key;
+    }
+
     @SideOnly(Side.CLIENT)
     public static <T extends GuiData> void open(int windowId, @NotNull UIFactory<T> factory, @NotNull PacketBuffer data, @NotNull EntityPlayerSP player) {
         T guiData = factory.readGuiData(player, data);
         JeiSettingsImpl jeiSettings = new JeiSettingsImpl();
         guiData.setJeiSettings(jeiSettings);
         GuiSyncManager syncManager = new GuiSyncManager(player);
+        syncManager.setName(factory.getFactoryName());
+        factory.registerSyncHandlers(guiData, syncManager);
         ModularPanel panel = factory.createPanel(guiData, syncManager);
         WidgetTree.collectSyncValues(syncManager, panel);
         ModularScreen screen = factory.createScreen(guiData, panel);
@@ -111,6 +147,14 @@ public class GuiManager {
         }
     }
 
+    @SubscribeEvent
+    public static void onPlayerLoggedOut(PlayerEvent.PlayerLoggedOutEvent event) {
+        // make sure the sync manager is closed, even if the container is not closed on disconnect
+        if (event.player.openContainer instanceof ModularContainer container) {
+            container.getSyncManager().onClose();
+        }
+    }
+
     @SideOnly(Side.CLIENT)
     @SubscribeEvent
     public static void onGuiOpen(GuiOpenEvent event) {
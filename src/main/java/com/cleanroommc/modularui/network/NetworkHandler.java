@@ -24,7 +24,9 @@ public class NetworkHandler {
         registerS2C(PacketSyncHandler.class);
         registerC2S(PacketSyncHandler.class);
         registerC2S(SyncConfig.class);
+        registerC2S(DisableSyncHandles.class);
         registerS2C(OpenGuiPacket.class);
+        registerS2C(PacketSyncBatch.class);
         //registerC2S(OpenGuiHandshake.class);
     }
 
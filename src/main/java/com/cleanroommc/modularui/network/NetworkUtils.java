@@ -1,9 +1,11 @@
 package com.cleanroommc.modularui.network;
 
 import com.cleanroommc.modularui.ModularUI;
+import com.cleanroommc.modularui.value.sync.InternTable;
 
 import net.minecraft.client.entity.EntityPlayerSP;
 import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.network.PacketBuffer;
@@ -11,6 +13,7 @@ import net.minecraftforge.fluids.FluidStack;
 import net.minecraftforge.fml.common.FMLCommonHandler;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.buffer.Unpooled;
 import org.jetbrains.annotations.Nullable;
 
@@ -38,22 +41,45 @@ public class NetworkUtils {
         return player.world == null ? player instanceof EntityPlayerSP : player.world.isRemote;
     }
 
+    /**
+     * Writes the readable bytes of a buffer with a length prefix. The reader index of the written buffer is not modified.
+     *
+     * @param writeTo   buffer to write to
+     * @param writeFrom buffer to write
+     */
     public static void writeByteBuf(PacketBuffer writeTo, ByteBuf writeFrom) {
         writeTo.writeVarInt(writeFrom.readableBytes());
-        writeTo.writeBytes(writeFrom);
+        writeTo.writeBytes(writeFrom, writeFrom.readerIndex(), writeFrom.readableBytes());
     }
 
     public static ByteBuf readByteBuf(PacketBuffer buf) {
-        ByteBuf directSliceBuffer = buf.readBytes(buf.readVarInt());
-        ByteBuf copiedDataBuffer = Unpooled.copiedBuffer(directSliceBuffer);
-        directSliceBuffer.release();
-        return copiedDataBuffer;
+        return Unpooled.copiedBuffer(buf.readSlice(buf.readVarInt()));
     }
 
     public static PacketBuffer readPacketBuffer(PacketBuffer buf) {
         return new PacketBuffer(readByteBuf(buf));
     }
 
+    /**
+     * Reads a buffer written by {@link #writeByteBuf(PacketBuffer, ByteBuf)} without copying it. The returned buffer shares
+     * its memory with the given buffer and must be released after it was read.
+     *
+     * @param buf buffer to read from
+     * @return a retained slice of the buffer
+     */
+    public static PacketBuffer readRetainedPacketBuffer(PacketBuffer buf) {
+        return new PacketBuffer(buf.readRetainedSlice(buf.readVarInt()));
+    }
+
+    /**
+     * Allocates a pooled direct buffer for sync handler packets. The buffer must be released after it was sent.
+     *
+     * @return a new pooled buffer
+     */
+    public static PacketBuffer allocateSyncBuffer() {
+        return new PacketBuffer(PooledByteBufAllocator.DEFAULT.directBuffer());
+    }
+
     public static void writeItemStack(PacketBuffer buffer, ItemStack itemStack) {
         buffer.writeItemStack(itemStack);
     }
@@ -67,6 +93,42 @@ public class NetworkUtils {
         }
     }
 
+    /**
+     * Writes an item stack with a varint count. The NBT tag is written through the given table, so that an unchanged tag
+     * is only sent once.
+     *
+     * @param buffer    buffer to write to
+     * @param itemStack item stack to write
+     * @param tagTable  table of synced tags
+     */
+    public static void writeItemStack(PacketBuffer buffer, ItemStack itemStack, InternTable<NBTTagCompound> tagTable) throws IOException {
+        if (itemStack.isEmpty()) {
+            buffer.writeVarInt(0);
+            return;
+        }
+        Item item = itemStack.getItem();
+        buffer.writeVarInt(Item.getIdFromItem(item) + 1);
+        buffer.writeVarInt(itemStack.getCount());
+        buffer.writeVarInt(itemStack.getMetadata());
+        NBTTagCompound tag = null;
+        if (item.isDamageable() || item.getShareTag()) {
+            tag = item.getNBTShareTag(itemStack);
+        }
+        buffer.writeBoolean(tag != null);
+        if (tag != null) {
+            tagTable.write(buffer, tag);
+        }
+    }
+
+    public static ItemStack readItemStack(PacketBuffer buffer, InternTable<NBTTagCompound> tagTable) throws IOException {
+        int id = buffer.readVarInt();
+        if (id == 0) return ItemStack.EMPTY;
+        ItemStack itemStack = new ItemStack(Item.getItemById(id - 1), buffer.readVarInt(), buffer.readVarInt());
+        NBTTagCompound tag = buffer.readBoolean() ? tagTable.read(buffer) : null;
+        itemStack.getItem().readNBTShareTag(itemStack, tag);
+        return itemStack;
+    }
+
     public static void writeFluidStack(PacketBuffer buffer, @Nullable FluidStack fluidStack) {
         if (fluidStack == null) {
             buffer.writeBoolean(true);
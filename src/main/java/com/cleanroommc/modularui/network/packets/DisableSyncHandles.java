@@ -0,0 +1,45 @@
+package com.cleanroommc.modularui.network.packets;
+
+import com.cleanroommc.modularui.network.IPacket;
+import com.cleanroommc.modularui.screen.ModularContainer;
+
+import net.minecraft.inventory.Container;
+import net.minecraft.network.NetHandlerPlayServer;
+import net.minecraft.network.PacketBuffer;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Sent by the client when the sync handlers of a GUI are not registered the same on both sides. The server then sends all
+ * sync handler packets of that GUI with their key.
+ */
+public class DisableSyncHandles implements IPacket {
+
+    private int windowId;
+
+    public DisableSyncHandles() {
+    }
+
+    public DisableSyncHandles(int windowId) {
+        this.windowId = windowId;
+    }
+
+    @Override
+    public void write(PacketBuffer buf) {
+        buf.writeVarInt(this.windowId);
+    }
+
+    @Override
+    public void read(PacketBuffer buf) {
+        this.windowId = buf.readVarInt();
+    }
+
+    @Override
+    public @Nullable IPacket executeServer(NetHandlerPlayServer handler) {
+        Container container = handler.player.openContainer;
+        if (container instanceof ModularContainer modularContainer && container.windowId == this.windowId) {
+            modularContainer.getSyncManager().disableNetworkHandles();
+        }
+        return null;
+    }
+}
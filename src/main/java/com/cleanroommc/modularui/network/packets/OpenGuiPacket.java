@@ -1,35 +1,53 @@
 package com.cleanroommc.modularui.network.packets;
 
+import com.cleanroommc.modularui.GuiError;
+import com.cleanroommc.modularui.ModularUI;
 import com.cleanroommc.modularui.api.UIFactory;
 import com.cleanroommc.modularui.factory.GuiData;
 import com.cleanroommc.modularui.factory.GuiManager;
 import com.cleanroommc.modularui.network.IPacket;
 import com.cleanroommc.modularui.network.NetworkHandler;
 import com.cleanroommc.modularui.network.NetworkUtils;
+import com.cleanroommc.modularui.screen.ModularContainer;
+import com.cleanroommc.modularui.screen.ModularScreen;
 
 import net.minecraft.client.Minecraft;
+import net.minecraft.client.entity.EntityPlayerSP;
 import net.minecraft.client.network.NetHandlerPlayClient;
 import net.minecraft.network.PacketBuffer;
 
+import net.minecraftforge.fml.relauncher.FMLLaunchHandler;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
+
+import io.netty.buffer.Unpooled;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.IOException;
 
 public class OpenGuiPacket<T extends GuiData> implements IPacket {
 
+    /**
+     * The initial sync is compressed if it's larger than this amount of bytes.
+     */
+    private static final int INITIAL_SYNC_COMPRESSION_THRESHOLD = 256;
+
     private int windowId;
     private UIFactory<T> factory;
     private PacketBuffer data;
+    private int syncKeyHash;
+    private PacketSyncBatch initialSync;
+    private IPacket receivedInitialSync;
 
     public OpenGuiPacket() {
     }
 
-    public OpenGuiPacket(int windowId, UIFactory<T> factory, PacketBuffer data) {
+    public OpenGuiPacket(int windowId, UIFactory<T> factory, PacketBuffer data, int syncKeyHash, PacketSyncBatch initialSync) {
         this.windowId = windowId;
         this.factory = factory;
         this.data = data;
+        this.syncKeyHash = syncKeyHash;
+        this.initialSync = initialSync;
     }
 
     @Override
@@ -37,19 +55,77 @@ public class OpenGuiPacket<T extends GuiData> implements IPacket {
         buf.writeVarInt(this.windowId);
         buf.writeString(this.factory.getFactoryName());
         NetworkUtils.writeByteBuf(buf, this.data);
+        buf.writeInt(this.syncKeyHash);
+        PacketBuffer sync = new PacketBuffer(Unpooled.buffer());
+        try {
+            this.initialSync.write(sync);
+            if (sync.readableBytes() > INITIAL_SYNC_COMPRESSION_THRESHOLD) {
+                buf.writeBoolean(true);
+                new PacketSyncCompressed(sync).write(buf);
+            } else {
+                buf.writeBoolean(false);
+                buf.writeBytes(sync);
+            }
+        } finally {
+            sync.release();
+        }
     }
 
     @Override
-    public void read(PacketBuffer buf) {
+    public void read(PacketBuffer buf) throws IOException {
         this.windowId = buf.readVarInt();
         this.factory = (UIFactory<T>) GuiManager.getFactory(buf.readString(32));
         this.data = NetworkUtils.readPacketBuffer(buf);
+        this.syncKeyHash = buf.readInt();
+        if (buf.readBoolean()) {
+            PacketSyncCompressed packet = new PacketSyncCompressed();
+            packet.read(buf);
+            this.receivedInitialSync = packet;
+        } else {
+            PacketSyncBatch packet = new PacketSyncBatch();
+            packet.read(buf);
+            this.receivedInitialSync = packet;
+        }
     }
 
     @SideOnly(Side.CLIENT)
     @Override
     public @Nullable IPacket executeClient(NetHandlerPlayClient handler) {
-        GuiManager.open(this.windowId, this.factory, this.data, Minecraft.getMinecraft().player);
+        EntityPlayerSP player = Minecraft.getMinecraft().player;
+        GuiManager.open(this.windowId, this.factory, this.data, player);
+        ModularContainer container = ModularContainer.getCurrent(player);
+        if (container == null) {
+            releaseInitialSync();
+            return null;
+        }
+        if (container.getSyncManager().getNetworkKeyHash() == this.syncKeyHash) {
+            // apply the initial state before the screen is drawn the first time
+            return this.receivedInitialSync.executeClient(handler);
+        }
+        String msg = "Sync handlers of GUI from factory '" + this.factory.getFactoryName() + "' are not registered the same on server and client!";
+        ModularScreen screen = ModularScreen.getCurrent();
+        if (FMLLaunchHandler.isDeobfuscatedEnvironment() && screen != null) {
+            GuiError.throwNew(screen.getMainPanel(), GuiError.Type.SYNC, msg);
+        } else {
+            ModularUI.LOGGER.error(msg);
+        }
+        try {
+            // the initial state is always sent with keys, so it can be applied even if the handles don't match
+            this.receivedInitialSync.executeClient(handler);
+        } finally {
+            // handles would be dispatched to the wrong sync handlers, so both sides fall back to keys
+            // this also resets the intern tables, so it must happen after the initial state was applied
+            container.getSyncManager().disableNetworkHandles();
+            NetworkHandler.sendToServer(new DisableSyncHandles(this.windowId));
+        }
         return null;
     }
+
+    private void releaseInitialSync() {
+        if (this.receivedInitialSync instanceof PacketSyncBatch batch) {
+            batch.release();
+        } else if (this.receivedInitialSync instanceof PacketSyncCompressed compressed) {
+            compressed.release();
+        }
+    }
 }
@@ -0,0 +1,80 @@
+package com.cleanroommc.modularui.network.packets;
+
+import com.cleanroommc.modularui.network.IPacket;
+
+import net.minecraft.client.network.NetHandlerPlayClient;
+import net.minecraft.network.PacketBuffer;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Contains all sync handler packets which were created during one
+ * {@link com.cleanroommc.modularui.value.sync.GuiSyncManager#detectAndSendChanges(boolean)} pass.
+ * The packets are dispatched on client in the order they were created.
+ */
+public class PacketSyncBatch implements IPacket {
+
+    private List<PacketSyncHandler> packets;
+
+    public PacketSyncBatch() {
+    }
+
+    public PacketSyncBatch(List<PacketSyncHandler> packets) {
+        this.packets = packets;
+    }
+
+    @Override
+    public void write(PacketBuffer buf) {
+        buf.writeVarInt(this.packets.size());
+        for (PacketSyncHandler packet : this.packets) {
+            packet.write(buf);
+        }
+    }
+
+    @Override
+    public void read(PacketBuffer buf) {
+        int size = buf.readVarInt();
+        this.packets = new ArrayList<>(size);
+        try {
+            for (int i = 0; i < size; i++) {
+                PacketSyncHandler packet = new PacketSyncHandler();
+                packet.read(buf);
+                this.packets.add(packet);
+            }
+        } catch (RuntimeException e) {
+            // the packets which were already read hold a slice of the buffer
+            release();
+            this.packets.clear();
+            throw e;
+        }
+    }
+
+    /**
+     * Releases all packets. Only needs to be called if this packet is not executed.
+     */
+    public void release() {
+        this.packets.forEach(PacketSyncHandler::release);
+    }
+
+    @SideOnly(Side.CLIENT)
+    @Override
+    public @Nullable IPacket executeClient(NetHandlerPlayClient handler) {
+        int i = 0;
+        try {
+            for (; i < this.packets.size(); i++) {
+                this.packets.get(i).executeClient(handler);
+            }
+        } finally {
+            // a failed packet releases itself, but the following packets must also be released
+            for (i++; i < this.packets.size(); i++) {
+                this.packets.get(i).release();
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,104 @@
+package com.cleanroommc.modularui.network.packets;
+
+import com.cleanroommc.modularui.network.IPacket;
+
+import net.minecraft.client.network.NetHandlerPlayClient;
+import net.minecraft.network.PacketBuffer;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+import io.netty.buffer.Unpooled;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * A deflate compressed {@link PacketSyncBatch}.
+ */
+public class PacketSyncCompressed implements IPacket {
+
+    /**
+     * Maximum uncompressed size the client accepts.
+     */
+    private static final int MAX_SIZE = 8 * 1024 * 1024;
+
+    private int size;
+    private byte[] data;
+    private PacketSyncBatch batch;
+
+    public PacketSyncCompressed() {
+    }
+
+    /**
+     * @param uncompressed a written {@link PacketSyncBatch}, which is not modified
+     */
+    public PacketSyncCompressed(PacketBuffer uncompressed) {
+        this.size = uncompressed.readableBytes();
+        byte[] raw = new byte[this.size];
+        uncompressed.getBytes(uncompressed.readerIndex(), raw);
+        Deflater deflater = new Deflater();
+        deflater.setInput(raw);
+        deflater.finish();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(this.size / 2);
+        byte[] chunk = new byte[4096];
+        while (!deflater.finished()) {
+            out.write(chunk, 0, deflater.deflate(chunk));
+        }
+        deflater.end();
+        this.data = out.toByteArray();
+    }
+
+    @Override
+    public void write(PacketBuffer buf) {
+        buf.writeVarInt(this.size);
+        buf.writeByteArray(this.data);
+    }
+
+    @Override
+    public void read(PacketBuffer buf) throws IOException {
+        this.size = buf.readVarInt();
+        if (this.size < 0 || this.size > MAX_SIZE) {
+            throw new IOException("Compressed sync packet is too large: " + this.size);
+        }
+        this.data = buf.readByteArray();
+        byte[] raw = new byte[this.size];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(this.data);
+            if (inflater.inflate(raw) != this.size || !inflater.finished()) {
+                throw new IOException("Compressed sync packet has wrong size");
+            }
+        } catch (DataFormatException e) {
+            throw new IOException(e);
+        } finally {
+            inflater.end();
+        }
+        this.batch = new PacketSyncBatch();
+        PacketBuffer buffer = new PacketBuffer(Unpooled.wrappedBuffer(raw));
+        try {
+            this.batch.read(buffer);
+        } finally {
+            // the sync packets keep their own reference to the buffer
+            buffer.release();
+        }
+    }
+
+    /**
+     * Releases all contained packets. Only needs to be called if this packet is not executed.
+     */
+    public void release() {
+        if (this.batch != null) {
+            this.batch.release();
+        }
+    }
+
+    @SideOnly(Side.CLIENT)
+    @Override
+    public @Nullable IPacket executeClient(NetHandlerPlayClient handler) {
+        return this.batch.executeClient(handler);
+    }
+}
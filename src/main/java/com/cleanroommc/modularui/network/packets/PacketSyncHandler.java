@@ -4,6 +4,7 @@ import com.cleanroommc.modularui.network.IPacket;
 import com.cleanroommc.modularui.network.NetworkUtils;
 import com.cleanroommc.modularui.screen.ModularContainer;
 import com.cleanroommc.modularui.screen.ModularScreen;
+import com.cleanroommc.modularui.value.sync.GuiSyncManager;
 
 import net.minecraft.client.network.NetHandlerPlayClient;
 import net.minecraft.inventory.Container;
@@ -17,37 +18,73 @@ import java.io.IOException;
 public class PacketSyncHandler implements IPacket {
 
     private String key;
+    private int handle = -1;
     private PacketBuffer packet;
 
     public PacketSyncHandler() {
     }
 
     public PacketSyncHandler(String key, PacketBuffer packet) {
+        this(key, -1, packet);
+    }
+
+    /**
+     * @param key    key of the sync handler
+     * @param handle network handle of the sync handler or -1 if the key should be sent
+     * @param packet packet data
+     */
+    public PacketSyncHandler(String key, int handle, PacketBuffer packet) {
         this.key = key;
+        this.handle = handle;
         this.packet = packet;
     }
 
     @Override
     public void write(PacketBuffer buf) {
-        NetworkUtils.writeStringSafe(buf, this.key, 64, true);
+        // 0 means the key follows, everything else is the handle + 1
+        buf.writeVarInt(this.handle + 1);
+        if (this.handle < 0) {
+            NetworkUtils.writeStringSafe(buf, this.key, 64, true);
+        }
         NetworkUtils.writeByteBuf(buf, this.packet);
     }
 
     @Override
     public void read(PacketBuffer buf) {
-        this.key = NetworkUtils.readStringSafe(buf);
-        this.packet = NetworkUtils.readPacketBuffer(buf);
+        this.handle = buf.readVarInt() - 1;
+        if (this.handle < 0) {
+            this.key = NetworkUtils.readStringSafe(buf);
+        }
+        this.packet = NetworkUtils.readRetainedPacketBuffer(buf);
+    }
+
+    /**
+     * Releases the packet data. Must be called exactly once after the packet was sent or executed.
+     */
+    public void release() {
+        this.packet.release();
+    }
+
+    private void receive(GuiSyncManager syncManager) throws IOException {
+        int id = this.packet.readVarInt();
+        if (this.handle >= 0) {
+            syncManager.receiveWidgetUpdate(this.handle, id, this.packet);
+        } else {
+            syncManager.receiveWidgetUpdate(this.key, id, this.packet);
+        }
     }
 
     @Override
     public @Nullable IPacket executeClient(NetHandlerPlayClient handler) {
         ModularScreen screen = ModularScreen.getCurrent();
-        if (screen != null) {
-            try {
-                screen.getSyncManager().receiveWidgetUpdate(this.key, this.packet.readVarInt(), this.packet);
-            } catch (IOException e) {
-                throw new RuntimeException(e);
+        try {
+            if (screen != null) {
+                receive(screen.getSyncManager());
             }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        } finally {
+            release();
         }
         return null;
     }
@@ -55,12 +92,14 @@ public class PacketSyncHandler implements IPacket {
     @Override
     public @Nullable IPacket executeServer(NetHandlerPlayServer handler) {
         Container container = handler.player.openContainer;
-        if (container instanceof ModularContainer modularContainer) {
-            try {
-                modularContainer.getSyncManager().receiveWidgetUpdate(this.key, this.packet.readVarInt(), this.packet);
-            } catch (IOException e) {
-                throw new RuntimeException(e);
+        try {
+            if (container instanceof ModularContainer modularContainer) {
+                receive(modularContainer.getSyncManager());
             }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        } finally {
+            release();
         }
         return null;
     }
@@ -11,6 +11,8 @@ import com.cleanroommc.modularui.drawable.Stencil;
 import com.cleanroommc.modularui.screen.viewport.GuiContext;
 import com.cleanroommc.modularui.screen.viewport.LocatedWidget;
 import com.cleanroommc.modularui.utils.Color;
+import com.cleanroommc.modularui.value.sync.GuiSyncManager;
+import com.cleanroommc.modularui.value.sync.SyncStats;
 import com.cleanroommc.modularui.widget.sizer.Area;
 import com.cleanroommc.modularui.widgets.ItemSlot;
 import com.cleanroommc.modularui.widgets.slot.ModularSlot;
@@ -228,6 +230,9 @@ public class GuiScreenWrapper extends GuiContainer {
         drawString(this.fontRenderer, "Mouse Pos: " + mouseX + ", " + mouseY, 5, lineY, color);
         lineY -= 11;
         drawString(this.fontRenderer, "FPS: " + this.fps, 5, screenH - 24, color);
+        if (SyncStats.isEnabled() && !this.screen.isClientOnly()) {
+            drawSyncStats(color);
+        }
         LocatedWidget locatedHovered = this.screen.getPanelManager().getTopWidgetLocated(true);
         if (locatedHovered != null) {
             drawSegmentLine(lineY -= 4, color);
@@ -279,6 +284,27 @@ public class GuiScreenWrapper extends GuiContainer {
         drawRect(mouseX, mouseY, mouseX + 1, mouseY + 1, Color.withAlpha(Color.GREEN.main, 0.8f));
     }
 
+    /**
+     * Draws the client side sync statistics of the sync handlers of this screen with the most traffic.
+     */
+    private void drawSyncStats(int color) {
+        GuiSyncManager syncManager = this.screen.getSyncManager();
+        int lineY = 5;
+        GuiDraw.drawText("Sync (received, sent, decode):", 5, lineY, 1, color, false);
+        int count = 0;
+        // the entries of this GUI start with its name, checking the sync handlers would create lazy ones
+        String prefix = syncManager.getStatsKey("");
+        for (SyncStats.Entry entry : SyncStats.get(true).getKeyEntries()) {
+            if (!entry.getName().startsWith(prefix)) continue;
+            lineY += 11;
+            SyncStats.Timing decode = entry.getDecodeTiming();
+            GuiDraw.drawText(entry.getName().substring(prefix.length()) + ": " + entry.getPacketsReceived() + "p/" + entry.getBytesReceived() + "B, " +
+                    entry.getPacketsSent() + "p/" + entry.getBytesSent() + "B, " +
+                    (decode.getSamples() == 0 ? "-" : decode.getAverageNanos() / 1000 + "us"), 5, lineY, 1, color, false);
+            if (++count == 5) break;
+        }
+    }
+
     private void drawSegmentLine(int y, int color) {
         GuiDraw.drawRect(5, y, 140, 1, color);
     }
@@ -320,7 +346,10 @@ public class GuiScreenWrapper extends GuiContainer {
 
     @Override
     protected void mouseReleased(int mouseX, int mouseY, int state) {
-        if (this.screen.onMouseRelease(state)) return;
+        boolean handled = this.screen.onMouseRelease(state);
+        // values which were changed while dragging are sent immediately
+        this.screen.flushSyncs();
+        if (handled) return;
         super.mouseReleased(mouseX, mouseY, state);
     }
 
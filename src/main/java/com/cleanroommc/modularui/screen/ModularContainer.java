@@ -1,8 +1,8 @@
 package com.cleanroommc.modularui.screen;
 
 import com.cleanroommc.modularui.ModularUI;
+import com.cleanroommc.modularui.ModularUIConfig;
 import com.cleanroommc.modularui.core.mixin.ContainerAccessor;
-import com.cleanroommc.modularui.network.NetworkUtils;
 import com.cleanroommc.modularui.value.sync.GuiSyncManager;
 import com.cleanroommc.modularui.widgets.slot.ModularSlot;
 import com.cleanroommc.modularui.widgets.slot.SlotGroup;
@@ -14,6 +14,7 @@ import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.entity.player.InventoryPlayer;
 import net.minecraft.inventory.ClickType;
 import net.minecraft.inventory.Container;
+import net.minecraft.inventory.IContainerListener;
 import net.minecraft.inventory.Slot;
 import net.minecraft.item.ItemStack;
 import net.minecraftforge.fml.common.Optional;
@@ -79,11 +80,55 @@ public class ModularContainer extends Container implements ISortableContainer {
 
     @Override
     public void detectAndSendChanges() {
-        super.detectAndSendChanges();
+        if (ModularUIConfig.syncSlotsOnlyWithSyncHandler) {
+            detectAndSendNonModularSlotChanges();
+        } else {
+            super.detectAndSendChanges();
+        }
         this.guiSyncManager.detectAndSendChanges(this.init);
         this.init = false;
     }
 
+    /**
+     * Same as vanilla's slot sync, but skips all {@link ModularSlot ModularSlots} since they are already synced by their
+     * {@link com.cleanroommc.modularui.value.sync.ItemSlotSH}. Player inventory slots are synced by vanilla until their sync
+     * handlers are created.
+     */
+    private void detectAndSendNonModularSlotChanges() {
+        for (int i = 0; i < this.inventorySlots.size(); i++) {
+            Slot slot = this.inventorySlots.get(i);
+            if (slot instanceof ModularSlot modularSlot && this.guiSyncManager.isSyncedBySyncHandler(modularSlot)) continue;
+            ItemStack current = slot.getStack();
+            ItemStack last = this.inventoryItemStacks.get(i);
+            if (!ItemStack.areItemStacksEqual(last, current)) {
+                boolean clientStackChanged = !ItemStack.areItemStacksEqualUsingNBTShareTag(last, current);
+                last = current.isEmpty() ? ItemStack.EMPTY : current.copy();
+                this.inventoryItemStacks.set(i, last);
+                if (clientStackChanged) {
+                    for (IContainerListener listener : this.listeners) {
+                        listener.sendSlotContents(this, i, last);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Notifies all container listeners except the player of this container about a slot change. Called by
+     * {@link com.cleanroommc.modularui.value.sync.ItemSlotSH} if vanilla's slot sync is skipped.
+     *
+     * @param slot  changed slot
+     * @param stack new stack in the slot
+     */
+    @ApiStatus.Internal
+    public void notifySlotListeners(ModularSlot slot, ItemStack stack) {
+        for (IContainerListener listener : this.listeners) {
+            if (listener != this.guiSyncManager.getPlayer()) {
+                listener.sendSlotContents(this, slot.slotNumber, stack);
+            }
+        }
+    }
+
     private void sortShiftClickSlots() {
         this.shiftClickSlots.sort(Comparator.comparingInt(slot -> Objects.requireNonNull(slot.getSlotGroup()).getShiftClickPriority()));
     }
@@ -153,7 +198,7 @@ public class ModularContainer extends Container implements ISortableContainer {
     }
 
     public boolean isClient() {
-        return this.guiSyncManager == null || NetworkUtils.isClient(this.guiSyncManager.getPlayer());
+        return this.guiSyncManager == null || this.guiSyncManager.isClient();
     }
 
     public boolean isClientOnly() {
@@ -12,11 +12,13 @@ import com.cleanroommc.modularui.screen.viewport.LocatedWidget;
 import com.cleanroommc.modularui.theme.WidgetTheme;
 import com.cleanroommc.modularui.utils.*;
 import com.cleanroommc.modularui.widget.ParentWidget;
+import com.cleanroommc.modularui.widget.WidgetTree;
 import com.cleanroommc.modularui.widget.sizer.Area;
 import com.cleanroommc.modularui.widgets.SlotGroupWidget;
 
 import net.minecraft.client.Minecraft;
 
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.MustBeInvokedByOverriders;
 import org.jetbrains.annotations.NotNull;
@@ -52,9 +54,10 @@ public class ModularPanel extends ParentWidget<ModularPanel> implements IViewpor
     private ModularScreen screen;
     private State state = State.IDLE;
     private boolean cantDisposeNow = false;
-    private final ObjectList<LocatedWidget> hovering = ObjectList.create();
+    private final ObjectList<LocatedWidget> hovering = ObjectList.deque();
     private final ObjectList<Interactable> acceptedInteractions = ObjectList.create();
     private boolean isMouseButtonHeld = false, isKeyHeld = false;
+    private ReferenceOpenHashSet<IWidget> scheduledResizes = new ReferenceOpenHashSet<>();
     @Nullable
     private LocatedWidget lastPressed;
     private long timePressed;
@@ -189,6 +192,40 @@ public class ModularPanel extends ParentWidget<ModularPanel> implements IViewpor
         stack.popViewport(null);
     }
 
+    /**
+     * Schedules a widget of this panel to be laid out before the next frame.
+     *
+     * @param widget root of the layout
+     * @see WidgetTree#scheduleResize(IWidget)
+     */
+    @ApiStatus.Internal
+    public void scheduleResize(IWidget widget) {
+        this.scheduledResizes.add(widget);
+    }
+
+    /**
+     * Lays out all scheduled widgets. Widgets which are inside another scheduled widget are skipped, since they are laid out
+     * with it. This is called before each frame, but can be called earlier if the new layout is needed right away.
+     */
+    public void resizeScheduled() {
+        if (this.scheduledResizes.isEmpty()) return;
+        // widgets might schedule new resizes while resizing, which then run next frame
+        ReferenceOpenHashSet<IWidget> scheduled = this.scheduledResizes;
+        this.scheduledResizes = new ReferenceOpenHashSet<>();
+        for (IWidget widget : scheduled) {
+            if (!widget.isValid() || widget.getPanel() != this) continue;
+            IWidget parent = widget;
+            boolean parentScheduled = false;
+            while (!parentScheduled && parent.hasParent() && !(parent instanceof ModularPanel)) {
+                parent = parent.getParent();
+                parentScheduled = scheduled.contains(parent);
+            }
+            if (!parentScheduled) {
+                WidgetTree.resize(widget);
+            }
+        }
+    }
+
     @MustBeInvokedByOverriders
     public void onOpen(ModularScreen screen) {
         this.screen = screen;
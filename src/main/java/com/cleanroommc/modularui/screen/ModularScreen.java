@@ -164,6 +164,7 @@ public class ModularScreen {
     public void close(boolean force) {
         if (isActive()) {
             if (force) {
+                flushSyncs();
                 this.context.mc.player.closeScreen();
                 return;
             }
@@ -211,6 +212,7 @@ public class ModularScreen {
         for (ModularPanel panel : this.panelManager.getOpenPanels()) {
             WidgetTree.onUpdate(panel);
         }
+        flushSyncs();
     }
 
     @MustBeInvokedByOverriders
@@ -227,7 +229,21 @@ public class ModularScreen {
         this.context.onFrameUpdate();
     }
 
+    /**
+     * Lays out all widgets of all open panels which scheduled a resize. This is done before each frame, but can be called
+     * earlier if the new layout is needed right away.
+     *
+     * @see WidgetTree#scheduleResize(IWidget)
+     */
+    public void resizeScheduled() {
+        for (ModularPanel panel : this.panelManager.getReverseOpenPanels()) {
+            panel.resizeScheduled();
+        }
+    }
+
     public void drawScreen(int mouseX, int mouseY, float partialTicks) {
+        // apply layout changes of the last frame
+        resizeScheduled();
         this.context.updateState(mouseX, mouseY, partialTicks);
 
         GlStateManager.disableRescaleNormal();
@@ -431,6 +447,15 @@ public class ModularScreen {
         return getContainer().getSyncManager();
     }
 
+    /**
+     * Sends all values which are queued to be synced to the server immediately.
+     */
+    public void flushSyncs() {
+        if (!isClientOnly()) {
+            getSyncManager().flushToServer();
+        }
+    }
+
     public ModularPanel getMainPanel() {
         return this.panelManager.getMainPanel();
     }
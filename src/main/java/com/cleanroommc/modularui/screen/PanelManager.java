@@ -28,12 +28,12 @@ public class PanelManager {
     /**
      * List of all open panels from top to bottom.
      */
-    private final ObjectList<ModularPanel> panels = ObjectList.create();
+    private final ObjectList<ModularPanel> panels = ObjectList.deque();
     // a clone of the list to avoid CMEs
     private final List<ModularPanel> panelsClone = new ArrayList<>();
     private final List<ModularPanel> panelsView = Collections.unmodifiableList(this.panelsClone);
     private final ReverseIterable<ModularPanel> reversePanels = new ReverseIterable<>(this.panelsView);
-    private final ObjectList<ModularPanel> disposal = ObjectList.create(20);
+    private final ObjectList<ModularPanel> disposal = ObjectList.deque(20);
     private boolean cantDisposeNow = false;
     private boolean dirty = false;
     private State state = State.INIT;
@@ -161,6 +161,7 @@ public class GuiContext extends GuiViewportStack {
             IFocusedWidget focusedWidget = (IFocusedWidget) this.focusedWidget.getElement();
             focusedWidget.onRemoveFocus(this);
             this.screen.setFocused(false);
+            this.screen.flushSyncs();
         }
 
         this.focusedWidget = widget;
@@ -3,9 +3,7 @@ package com.cleanroommc.modularui.screen.viewport;
 import com.cleanroommc.modularui.api.layout.IViewport;
 import com.cleanroommc.modularui.api.widget.IWidget;
 import com.cleanroommc.modularui.screen.ModularPanel;
-
-import java.util.ArrayList;
-import java.util.List;
+import com.cleanroommc.modularui.utils.ObjectList;
 
 public class LocatedWidget extends LocatedElement<IWidget> {
 
@@ -15,9 +13,9 @@ public class LocatedWidget extends LocatedElement<IWidget> {
         }
         // first make a list of all parents
         IWidget parent = widget;
-        List<IWidget> ancestors = new ArrayList<>();
+        ObjectList<IWidget> ancestors = ObjectList.deque();
         while (true) {
-            ancestors.add(0, parent);
+            ancestors.addFirst(parent);
             if (parent instanceof ModularPanel) {
                 break;
             }
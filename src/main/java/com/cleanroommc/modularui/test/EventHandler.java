@@ -5,6 +5,7 @@ import com.cleanroommc.modularui.factory.ClientGUI;
 import net.minecraft.init.Items;
 import net.minecraftforge.event.entity.player.PlayerInteractEvent;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.relauncher.FMLLaunchHandler;
 
 public class EventHandler {
 
@@ -17,6 +18,10 @@ public class EventHandler {
                     .screenScale(0.5f)
                     .open(new TestGui());*/
             ClientGUI.open(new TestGui());
+        } else if (event.getEntityPlayer().getEntityWorld().isRemote && event.getItemStack().getItem() == Items.EMERALD &&
+                FMLLaunchHandler.isDeobfuscatedEnvironment()) {
+            // dev only, the layout cache test is not included in the jar
+            ClientGUI.open(new LayoutCacheTest());
         }
     }
 }
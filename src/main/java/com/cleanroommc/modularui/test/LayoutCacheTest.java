@@ -0,0 +1,156 @@
+package com.cleanroommc.modularui.test;
+
+import com.cleanroommc.modularui.ModularUI;
+import com.cleanroommc.modularui.ModularUIConfig;
+import com.cleanroommc.modularui.api.drawable.IKey;
+import com.cleanroommc.modularui.api.widget.IWidget;
+import com.cleanroommc.modularui.screen.CustomModularScreen;
+import com.cleanroommc.modularui.screen.ModularPanel;
+import com.cleanroommc.modularui.screen.viewport.GuiContext;
+import com.cleanroommc.modularui.utils.Alignment;
+import com.cleanroommc.modularui.widget.Widget;
+import com.cleanroommc.modularui.widget.WidgetTree;
+import com.cleanroommc.modularui.widgets.TextWidget;
+import com.cleanroommc.modularui.widgets.layout.Column;
+import com.cleanroommc.modularui.widgets.layout.Row;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Checks the layout cache when opened. Every case changes something, lays out the screen with the layout cache and compares
+ * the result with a layout without the cache. The result is logged.
+ * <p>
+ * Dev only: opened by right-clicking an emerald with test GUIs enabled. It needs a running client, so it can't be a unit
+ * test, and it is excluded from the jar in addon.gradle.
+ */
+public class LayoutCacheTest extends CustomModularScreen {
+
+    private Column column;
+    private Row row;
+    private CountingWidget deepWidget;
+    private String text = "Short";
+    private boolean checked = false;
+    private int failures = 0;
+
+    @Override
+    public @NotNull ModularPanel buildUI(GuiContext context) {
+        this.deepWidget = new CountingWidget();
+        this.row = new Row();
+        this.column = new Column();
+        return ModularPanel.defaultPanel("layout_cache_test")
+                .widthRel(0.6f)
+                .heightRel(0.6f)
+                .child(this.column
+                        .widthRel(1f)
+                        .coverChildrenHeight()
+                        .padding(7)
+                        .child(this.row
+                                .widthRel(1f)
+                                .height(20)
+                                .child(new Widget<>().size(20))
+                                .child(new Column()
+                                        .widthRel(0.5f)
+                                        .coverChildrenHeight()
+                                        .child(this.deepWidget.widthRel(1f).height(10))))
+                        .child(new TextWidget(IKey.dynamic(() -> this.text)))
+                        .child(new Widget<>().widthRel(0.5f).height(16)));
+    }
+
+    @Override
+    public void onUpdate() {
+        super.onUpdate();
+        if (!this.checked) {
+            this.checked = true;
+            runChecks();
+        }
+    }
+
+    private void runChecks() {
+        boolean layoutCache = ModularUIConfig.layoutCache;
+        int width = getScreenArea().width, height = getScreenArea().height;
+        try {
+            checkReuse(width, height);
+            check("margin change", () -> this.row.margin(4), width, height);
+            check("child add", () -> this.column.child(new Widget<>().size(30)), width, height);
+            check("child remove", () -> this.column.remove(this.column.getChildren().size() - 1), width, height);
+            check("alignment change", () -> this.row.mainAxisAlignment(Alignment.MainAxis.END), width, height);
+            check("text change", () -> this.text = "A much longer text than before", width, height);
+            // runs last, since every check starts from the current screen size
+            check("window resize", () -> {}, width - 40, height - 20);
+        } finally {
+            ModularUIConfig.layoutCache = layoutCache;
+            onResize(width, height);
+        }
+        if (this.failures == 0) {
+            ModularUI.LOGGER.info("All layout cache checks passed");
+        } else {
+            ModularUI.LOGGER.error("{} layout cache checks failed", this.failures);
+        }
+    }
+
+    private void checkReuse(int width, int height) {
+        ModularUIConfig.layoutCache = true;
+        onResize(width, height);
+        List<int[]> expected = snapshot();
+        this.deepWidget.resizeCount = 0;
+        onResize(width, height);
+        if (this.deepWidget.resizeCount != 0) {
+            fail("reuse", "unchanged widget was laid out again");
+        }
+        compare("reuse", expected, snapshot());
+    }
+
+    private void check(String name, Runnable change, int width, int height) {
+        // fill the cache with the current state
+        ModularUIConfig.layoutCache = true;
+        onResize(getScreenArea().width, getScreenArea().height);
+        change.run();
+        onResize(width, height);
+        List<int[]> cached = snapshot();
+        ModularUIConfig.layoutCache = false;
+        onResize(width, height);
+        compare(name, snapshot(), cached);
+    }
+
+    private List<int[]> snapshot() {
+        List<int[]> areas = new ArrayList<>();
+        for (IWidget widget : WidgetTree.getAllChildrenByLayer(getMainPanel(), true)) {
+            areas.add(new int[]{widget.getArea().x, widget.getArea().y, widget.getArea().width, widget.getArea().height});
+        }
+        return areas;
+    }
+
+    private void compare(String name, List<int[]> expected, List<int[]> actual) {
+        if (expected.size() != actual.size()) {
+            fail(name, "expected " + expected.size() + " widgets, but got " + actual.size());
+            return;
+        }
+        for (int i = 0; i < expected.size(); i++) {
+            int[] e = expected.get(i), a = actual.get(i);
+            if (e[0] != a[0] || e[1] != a[1] || e[2] != a[2] || e[3] != a[3]) {
+                fail(name, "widget " + i + " is at " + a[0] + ", " + a[1] + " with size " + a[2] + "x" + a[3] +
+                        ", but should be at " + e[0] + ", " + e[1] + " with size " + e[2] + "x" + e[3]);
+                return;
+            }
+        }
+    }
+
+    private void fail(String name, String msg) {
+        this.failures++;
+        ModularUI.LOGGER.error("Layout cache check '{}' failed: {}", name, msg);
+    }
+
+    private static class CountingWidget extends Widget<CountingWidget> {
+
+        private int resizeCount = 0;
+
+        @Override
+        public void onResized() {
+            super.onResized();
+            this.resizeCount++;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.cleanroommc.modularui.utils;
 
+import it.unimi.dsi.fastutil.objects.AbstractObjectList;
 import it.unimi.dsi.fastutil.objects.ObjectCollection;
 import it.unimi.dsi.fastutil.objects.ObjectIterator;
 import org.jetbrains.annotations.NotNull;
@@ -7,6 +8,7 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
 
 public interface ObjectList<V> extends it.unimi.dsi.fastutil.objects.ObjectList<V> {
 
@@ -18,6 +20,17 @@ public interface ObjectList<V> extends it.unimi.dsi.fastutil.objects.ObjectList<
         return new ObjectArrayList<>(size);
     }
 
+    /**
+     * Creates a list which can add and remove at both ends in constant time. Use this for queues and stacks.
+     */
+    static <V> ObjectArrayDeque<V> deque() {
+        return new ObjectArrayDeque<>();
+    }
+
+    static <V> ObjectArrayDeque<V> deque(int capacity) {
+        return new ObjectArrayDeque<>(capacity);
+    }
+
     static <V> ObjectArrayList<V> of(Collection<? extends V> c) {
         return new ObjectArrayList<>(c);
     }
@@ -166,4 +179,230 @@ public interface ObjectList<V> extends it.unimi.dsi.fastutil.objects.ObjectList<
             return isEmpty() ? null : removeLast();
         }
     }
+
+    /**
+     * A list backed by a circular array. Adding and removing at both ends is O(1), inserting and removing in the middle
+     * moves the elements of the shorter side.
+     */
+    class ObjectArrayDeque<V> extends AbstractObjectList<V> implements ObjectList<V> {
+
+        private static final int DEFAULT_CAPACITY = 16;
+
+        private V[] a;
+        private int head = 0;
+        private int size = 0;
+
+        public ObjectArrayDeque() {
+            this(0);
+        }
+
+        @SuppressWarnings("unchecked")
+        public ObjectArrayDeque(int capacity) {
+            if (capacity < 0) throw new IllegalArgumentException("Initial capacity (" + capacity + ") is negative");
+            this.a = (V[]) new Object[capacity];
+        }
+
+        public ObjectArrayDeque(Collection<? extends V> c) {
+            this(c.size());
+            addAll(c);
+        }
+
+        private int index(int i) {
+            int j = this.head + i;
+            return j >= this.a.length ? j - this.a.length : j;
+        }
+
+        private void checkIndex(int i, int max) {
+            if (i < 0 || i > max) {
+                throw new IndexOutOfBoundsException("Index (" + i + ") is out of bounds for size " + this.size);
+            }
+        }
+
+        private void grow(int capacity) {
+            if (capacity <= this.a.length) return;
+            capacity = (int) Math.max(capacity, Math.min(this.a.length == 0 ? DEFAULT_CAPACITY : 2L * this.a.length, Integer.MAX_VALUE - 8));
+            this.a = copyElements(capacity);
+            this.head = 0;
+        }
+
+        @SuppressWarnings("unchecked")
+        private V[] copyElements(int capacity) {
+            V[] copy = (V[]) new Object[capacity];
+            int firstPart = Math.min(this.size, this.a.length - this.head);
+            System.arraycopy(this.a, this.head, copy, 0, firstPart);
+            System.arraycopy(this.a, 0, copy, firstPart, this.size - firstPart);
+            return copy;
+        }
+
+        @Override
+        public V get(int index) {
+            checkIndex(index, this.size - 1);
+            return this.a[index(index)];
+        }
+
+        @Override
+        public V set(int index, V v) {
+            checkIndex(index, this.size - 1);
+            int i = index(index);
+            V old = this.a[i];
+            this.a[i] = v;
+            return old;
+        }
+
+        @Override
+        public int size() {
+            return this.size;
+        }
+
+        @Override
+        public boolean add(V v) {
+            addLast(v);
+            return true;
+        }
+
+        @Override
+        public void add(int index, V v) {
+            checkIndex(index, this.size);
+            if (index == 0) {
+                addFirst(v);
+            } else if (index == this.size) {
+                addLast(v);
+            } else {
+                grow(this.size + 1);
+                if (index < this.size / 2) {
+                    this.head = this.head == 0 ? this.a.length - 1 : this.head - 1;
+                    this.size++;
+                    for (int i = 0; i < index; i++) {
+                        this.a[index(i)] = this.a[index(i + 1)];
+                    }
+                } else {
+                    this.size++;
+                    for (int i = this.size - 1; i > index; i--) {
+                        this.a[index(i)] = this.a[index(i - 1)];
+                    }
+                }
+                this.a[index(index)] = v;
+            }
+        }
+
+        @Override
+        public V remove(int index) {
+            checkIndex(index, this.size - 1);
+            if (index == 0) return removeFirst();
+            if (index == this.size - 1) return removeLast();
+            V old = this.a[index(index)];
+            if (index < this.size / 2) {
+                for (int i = index; i > 0; i--) {
+                    this.a[index(i)] = this.a[index(i - 1)];
+                }
+                this.a[this.head] = null;
+                this.head = index(1);
+            } else {
+                for (int i = index; i < this.size - 1; i++) {
+                    this.a[index(i)] = this.a[index(i + 1)];
+                }
+                this.a[index(this.size - 1)] = null;
+            }
+            this.size--;
+            return old;
+        }
+
+        @Override
+        public void addFirst(V v) {
+            grow(this.size + 1);
+            this.head = this.head == 0 ? this.a.length - 1 : this.head - 1;
+            this.a[this.head] = v;
+            this.size++;
+        }
+
+        @Override
+        public void addLast(V v) {
+            grow(this.size + 1);
+            this.a[index(this.size)] = v;
+            this.size++;
+        }
+
+        @Override
+        public @NotNull V getFirst() {
+            if (this.size == 0) throw new NoSuchElementException();
+            return this.a[this.head];
+        }
+
+        @Override
+        public @NotNull V getLast() {
+            if (this.size == 0) throw new NoSuchElementException();
+            return this.a[index(this.size - 1)];
+        }
+
+        @Override
+        public @NotNull V removeFirst() {
+            if (this.size == 0) throw new NoSuchElementException();
+            V v = this.a[this.head];
+            this.a[this.head] = null;
+            this.head = index(1);
+            if (--this.size == 0) this.head = 0;
+            return v;
+        }
+
+        @Override
+        public @NotNull V removeLast() {
+            if (this.size == 0) throw new NoSuchElementException();
+            int i = index(this.size - 1);
+            V v = this.a[i];
+            this.a[i] = null;
+            if (--this.size == 0) this.head = 0;
+            return v;
+        }
+
+        @Override
+        public V peekFirst() {
+            return isEmpty() ? null : getFirst();
+        }
+
+        @Override
+        public V pollFirst() {
+            return isEmpty() ? null : removeFirst();
+        }
+
+        @Override
+        public V peekLast() {
+            return isEmpty() ? null : getLast();
+        }
+
+        @Override
+        public V pollLast() {
+            return isEmpty() ? null : removeLast();
+        }
+
+        @Override
+        public void clear() {
+            for (int i = 0; i < this.size; i++) {
+                this.a[index(i)] = null;
+            }
+            this.head = 0;
+            this.size = 0;
+        }
+
+        @Override
+        public void trim() {
+            if (this.a.length == this.size) return;
+            this.a = copyElements(this.size);
+            this.head = 0;
+        }
+
+        /**
+         * Moves the elements to the start of the backing array and returns it. Only the first {@link #size()} elements are
+         * valid.
+         *
+         * @return the backing array
+         */
+        @Override
+        public V @NotNull [] elements() {
+            if (this.head != 0) {
+                this.a = copyElements(this.a.length);
+                this.head = 0;
+            }
+            return this.a;
+        }
+    }
 }
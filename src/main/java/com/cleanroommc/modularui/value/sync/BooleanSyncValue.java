@@ -77,6 +77,11 @@ public class BooleanSyncValue extends ValueSyncHandler<Boolean> implements IBool
         return false;
     }
 
+    @Override
+    protected boolean canBeShared() {
+        return true;
+    }
+
     @Override
     public void write(PacketBuffer buffer) {
         buffer.writeBoolean(getBoolValue());
@@ -106,4 +111,9 @@ public class BooleanSyncValue extends ValueSyncHandler<Boolean> implements IBool
     public String getStringValue() {
         return String.valueOf(this.cache);
     }
+
+    @Override
+    protected boolean isCoalescedToServer(int id) {
+        return id == 0;
+    }
 }
@@ -7,16 +7,16 @@ import java.io.IOException;
 public class CursorSlotSyncHandler extends SyncHandler {
 
     public void sync() {
-        sync(0, buffer -> buffer.writeItemStack(getSyncManager().getPlayer().inventory.getItemStack()));
+        sync(0, buffer -> buffer.writeItemStack(getSyncManager().getPlayerInventory().getInventoryPlayer().getItemStack()));
     }
 
     @Override
     public void readOnClient(int id, PacketBuffer buf) throws IOException {
-        getSyncManager().getPlayer().inventory.setItemStack(buf.readItemStack());
+        getSyncManager().getPlayerInventory().getInventoryPlayer().setItemStack(buf.readItemStack());
     }
 
     @Override
     public void readOnServer(int id, PacketBuffer buf) throws IOException {
-        getSyncManager().getPlayer().inventory.setItemStack(buf.readItemStack());
+        getSyncManager().getPlayerInventory().getInventoryPlayer().setItemStack(buf.readItemStack());
     }
 }
@@ -0,0 +1,39 @@
+package com.cleanroommc.modularui.value.sync;
+
+/**
+ * A handle to notify a {@link SyncHandler} that its value changed. It is obtained with {@link SyncHandler#getDirtyHandle()}.
+ * Sync handlers with a handle are no longer checked for changes every tick, but only after they were marked dirty.
+ * <p>
+ * A typical use is a tile entity which keeps the handles of all open GUIs and marks them dirty when one of its values changes.
+ * Handles become invalid when their GUI is closed and should then be removed.
+ */
+public final class DirtyHandle {
+
+    private final SyncHandler syncHandler;
+    private boolean valid = true;
+
+    DirtyHandle(SyncHandler syncHandler) {
+        this.syncHandler = syncHandler;
+    }
+
+    /**
+     * Marks the sync handler as dirty. It will check for changes in the next tick.
+     * Must be called on the server thread.
+     */
+    public void markDirty() {
+        if (this.valid) {
+            this.syncHandler.markDirty();
+        }
+    }
+
+    /**
+     * @return false if the GUI of the sync handler was closed
+     */
+    public boolean isValid() {
+        return this.valid;
+    }
+
+    void invalidate() {
+        this.valid = false;
+    }
+}
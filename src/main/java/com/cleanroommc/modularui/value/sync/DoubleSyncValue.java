@@ -76,6 +76,11 @@ public class DoubleSyncValue extends ValueSyncHandler<Double> implements IDouble
         return false;
     }
 
+    @Override
+    protected boolean canBeShared() {
+        return true;
+    }
+
     @Override
     public void write(PacketBuffer buffer) {
         buffer.writeDouble(getDoubleValue());
@@ -95,4 +100,9 @@ public class DoubleSyncValue extends ValueSyncHandler<Double> implements IDouble
     public String getStringValue() {
         return String.valueOf(this.cache);
     }
+
+    @Override
+    protected boolean isCoalescedToServer(int id) {
+        return id == 0;
+    }
 }
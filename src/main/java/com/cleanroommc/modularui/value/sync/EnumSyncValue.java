@@ -73,6 +73,11 @@ public class EnumSyncValue<T extends Enum<T>> extends ValueSyncHandler<T> implem
         return false;
     }
 
+    @Override
+    protected boolean canBeShared() {
+        return true;
+    }
+
     @Override
     public void write(PacketBuffer buffer) {
         buffer.writeEnumValue(getValue());
@@ -92,4 +97,9 @@ public class EnumSyncValue<T extends Enum<T>> extends ValueSyncHandler<T> implem
     public int getIntValue() {
         return this.cache.ordinal();
     }
+
+    @Override
+    protected boolean isCoalescedToServer(int id) {
+        return id == 0;
+    }
 }
@@ -6,10 +6,13 @@ import com.cleanroommc.modularui.utils.MouseData;
 
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.network.PacketBuffer;
 import net.minecraft.util.SoundCategory;
 import net.minecraft.util.SoundEvent;
+import net.minecraftforge.fluids.Fluid;
 import net.minecraftforge.fluids.FluidActionResult;
+import net.minecraftforge.fluids.FluidRegistry;
 import net.minecraftforge.fluids.FluidStack;
 import net.minecraftforge.fluids.FluidUtil;
 import net.minecraftforge.fluids.IFluidTank;
@@ -19,6 +22,8 @@ import net.minecraftforge.fluids.capability.IFluidHandlerItem;
 
 import org.jetbrains.annotations.Nullable;
 
+import java.io.IOException;
+
 public class FluidSlotSyncHandler extends ValueSyncHandler<FluidStack> {
 
     public static boolean isFluidEmpty(@Nullable FluidStack fluidStack) {
@@ -85,26 +90,67 @@ public class FluidSlotSyncHandler extends ValueSyncHandler<FluidStack> {
     }
 
     @Override
-    public void write(PacketBuffer buffer) {
-        NetworkUtils.writeFluidStack(buffer, this.cache);
+    public void detectAndSendChanges(boolean init) {
+        FluidStack current = this.fluidTank.getFluid();
+        if (!init && this.cache != null && !isFluidEmpty(current) && current.isFluidEqual(this.cache)) {
+            // same fluid and tag, only sync the amount
+            if (current.amount != this.cache.amount) {
+                int delta = current.amount - this.cache.amount;
+                this.cache.amount = current.amount;
+                syncToClient(4, buffer -> buffer.writeVarInt((delta << 1) ^ (delta >> 31)));
+                onValueChanged();
+            }
+            return;
+        }
+        super.detectAndSendChanges(init);
     }
 
+    /**
+     * Writes the fluid by its interned registry name, amount and tag.
+     */
     @Override
-    public void read(PacketBuffer buffer) {
-        setValue(NetworkUtils.readFluidStack(buffer), true, false);
+    public void write(PacketBuffer buffer) throws IOException {
+        if (isFluidEmpty(this.cache)) {
+            buffer.writeBoolean(false);
+            return;
+        }
+        buffer.writeBoolean(true);
+        getSyncManager().getFluidNameTable().write(buffer, this.cache.getFluid().getName());
+        buffer.writeVarInt(this.cache.amount);
+        buffer.writeCompoundTag(this.cache.tag);
     }
 
     @Override
-    public void readOnClient(int id, PacketBuffer buf) {
+    public void read(PacketBuffer buffer) throws IOException {
+        FluidStack fluidStack = null;
+        if (buffer.readBoolean()) {
+            Fluid fluid = FluidRegistry.getFluid(getSyncManager().getFluidNameTable().read(buffer));
+            int amount = buffer.readVarInt();
+            NBTTagCompound tag = buffer.readCompoundTag();
+            if (fluid != null) {
+                fluidStack = new FluidStack(fluid, amount, tag);
+            }
+        }
+        setValue(fluidStack, true, false);
+    }
+
+    @Override
+    public void readOnClient(int id, PacketBuffer buf) throws IOException {
         if (id == 0) {
             read(buf);
         } else if (id == 3) {
             this.controlsAmount = buf.readBoolean();
+        } else if (id == 4) {
+            int delta = buf.readVarInt();
+            if (this.cache != null) {
+                this.cache.amount += (delta >>> 1) ^ -(delta & 1);
+                onValueChanged();
+            }
         }
     }
 
     @Override
-    public void readOnServer(int id, PacketBuffer buf) {
+    public void readOnServer(int id, PacketBuffer buf) throws IOException {
         if (id == 0) {
             if (this.phantom) {
                 read(buf);
@@ -12,6 +12,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
@@ -20,12 +21,18 @@ import java.util.function.Supplier;
 
 public class GenericListSyncHandler<T> extends ValueSyncHandler<List<T>> {
 
+    private static final int OP_SET = 0;
+    private static final int OP_INSERT = 1;
+    private static final int OP_REMOVE = 2;
+    private static final int OP_TRUNCATE = 3;
+
     private final Supplier<List<T>> getter;
     private final Consumer<List<T>> setter;
     private final IByteBufDeserializer<T> deserializer;
     private final IByteBufSerializer<T> serializer;
     private final IEquals<T> equals;
     private final ObjectList<T> cache = ObjectList.create();
+    private boolean incremental = false;
 
     public GenericListSyncHandler(@NotNull Supplier<List<T>> getter,
                                   @Nullable Consumer<List<T>> setter,
@@ -74,6 +81,133 @@ public class GenericListSyncHandler<T> extends ValueSyncHandler<List<T>> {
         return false;
     }
 
+    @Override
+    public void detectAndSendChanges(boolean init) {
+        if (init || !this.incremental) {
+            super.detectAndSendChanges(init);
+            return;
+        }
+        List<T> newValues = this.getter.get();
+        int oldSize = this.cache.size(), newSize = newValues.size();
+        int min = Math.min(oldSize, newSize);
+        int start = 0;
+        while (start < min && this.equals.areEqual(this.cache.get(start), newValues.get(start))) {
+            start++;
+        }
+        if (start == oldSize && start == newSize) return;
+        int end = 0;
+        while (end < min - start && this.equals.areEqual(this.cache.get(oldSize - 1 - end), newValues.get(newSize - 1 - end))) {
+            end++;
+        }
+        // only the range between the equal start and end changed
+        int oldChanged = oldSize - start - end, newChanged = newSize - start - end;
+        int sets = 0;
+        for (int i = start, n = start + Math.min(oldChanged, newChanged); i < n; i++) {
+            if (!this.equals.areEqual(this.cache.get(i), newValues.get(i))) {
+                sets++;
+            }
+        }
+        if (sets + Math.max(0, newChanged - oldChanged) >= newSize) {
+            // the edits would be larger than the list
+            setValue(newValues, false, false);
+            syncToClient(0, this::write);
+            return;
+        }
+        final int finalStart = start, finalSets = sets;
+        syncToClient(1, buffer -> writeEdits(buffer, newValues, finalStart, oldChanged, newChanged, finalSets));
+    }
+
+    /**
+     * Writes the changed range as edit script and applies the edits to the cache.
+     */
+    private void writeEdits(PacketBuffer buffer, List<T> newValues, int start, int oldChanged, int newChanged, int sets) throws IOException {
+        buffer.writeVarInt(oldChanged == newChanged ? sets : sets + 1);
+        int index = start + Math.min(oldChanged, newChanged);
+        for (int i = start; i < index; i++) {
+            T t = newValues.get(i);
+            if (!this.equals.areEqual(this.cache.get(i), t)) {
+                buffer.writeByte(OP_SET);
+                buffer.writeVarInt(i);
+                this.serializer.serialize(buffer, t);
+                this.cache.set(i, t);
+            }
+        }
+        if (newChanged > oldChanged) {
+            int count = newChanged - oldChanged;
+            buffer.writeByte(OP_INSERT);
+            buffer.writeVarInt(index);
+            buffer.writeVarInt(count);
+            for (int i = index; i < index + count; i++) {
+                this.serializer.serialize(buffer, newValues.get(i));
+            }
+            this.cache.addAll(index, newValues.subList(index, index + count));
+        } else if (oldChanged > newChanged) {
+            int count = oldChanged - newChanged;
+            if (index + count == this.cache.size()) {
+                buffer.writeByte(OP_TRUNCATE);
+                buffer.writeVarInt(index);
+                this.cache.size(index);
+            } else {
+                buffer.writeByte(OP_REMOVE);
+                buffer.writeVarInt(index);
+                buffer.writeVarInt(count);
+                this.cache.removeElements(index, index + count);
+            }
+        }
+    }
+
+    private void readEdits(PacketBuffer buffer) throws IOException {
+        for (int i = 0, n = buffer.readVarInt(); i < n; i++) {
+            int op = buffer.readByte();
+            int index = buffer.readVarInt();
+            if (op == OP_SET) {
+                this.cache.set(index, this.deserializer.deserialize(buffer));
+            } else if (op == OP_INSERT) {
+                int count = buffer.readVarInt();
+                for (int j = 0; j < count; j++) {
+                    this.cache.add(index + j, this.deserializer.deserialize(buffer));
+                }
+            } else if (op == OP_REMOVE) {
+                int count = buffer.readVarInt();
+                this.cache.removeElements(index, index + count);
+            } else if (op == OP_TRUNCATE) {
+                this.cache.size(index);
+            } else {
+                throw new IOException("Unknown list edit operation " + op);
+            }
+        }
+    }
+
+    @Override
+    public void readOnClient(int id, PacketBuffer buf) throws IOException {
+        if (id == 1) {
+            readEdits(buf);
+            // the setter gets a copy, since the cache is changed in place by later edits
+            if (this.setter != null) {
+                this.setter.accept(new ArrayList<>(this.cache));
+            }
+            onValueChanged();
+        } else {
+            super.readOnClient(id, buf);
+        }
+    }
+
+    /**
+     * If incremental syncing is enabled, only the changed elements are synced to the client as a list of edits.
+     * The full list is only synced if the edits would be larger than the list.
+     *
+     * @param incremental true if only changes should be synced
+     * @return this
+     */
+    public GenericListSyncHandler<T> incremental(boolean incremental) {
+        this.incremental = incremental;
+        return this;
+    }
+
+    public boolean isIncremental() {
+        return this.incremental;
+    }
+
     private boolean didValuesChange(List<T> newValues) {
         if (this.cache.size() != newValues.size()) return true;
         for (int i = 0, n = newValues.size(); i < n; i++) {
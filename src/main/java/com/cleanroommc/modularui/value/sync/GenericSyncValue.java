@@ -75,6 +75,11 @@ public class GenericSyncValue<T> extends ValueSyncHandler<T> {
         return false;
     }
 
+    @Override
+    protected boolean canBeShared() {
+        return true;
+    }
+
     @Override
     public void write(PacketBuffer buffer) throws IOException {
         this.serializer.serialize(buffer, this.cache);
@@ -84,4 +89,9 @@ public class GenericSyncValue<T> extends ValueSyncHandler<T> {
     public void read(PacketBuffer buffer) throws IOException {
         setValue(this.deserializer.deserialize(buffer), true, false);
     }
+
+    @Override
+    protected boolean isCoalescedToServer(int id) {
+        return id == 0;
+    }
 }
@@ -1,59 +1,229 @@
 package com.cleanroommc.modularui.value.sync;
 
+import com.cleanroommc.modularui.ModularUI;
+import com.cleanroommc.modularui.ModularUIConfig;
+import com.cleanroommc.modularui.api.IPacketWriter;
+import com.cleanroommc.modularui.network.NetworkHandler;
 import com.cleanroommc.modularui.network.NetworkUtils;
+import com.cleanroommc.modularui.network.packets.PacketSyncBatch;
+import com.cleanroommc.modularui.network.packets.PacketSyncHandler;
 import com.cleanroommc.modularui.screen.ModularContainer;
+import com.cleanroommc.modularui.utils.serialization.ByteBufAdapters;
 import com.cleanroommc.modularui.widgets.slot.ModularSlot;
 import com.cleanroommc.modularui.widgets.slot.SlotGroup;
 
 import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.entity.player.InventoryPlayer;
 import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.network.PacketBuffer;
+import net.minecraftforge.fml.common.Loader;
 import net.minecraftforge.items.wrapper.PlayerMainInvWrapper;
 
-import it.unimi.dsi.fastutil.objects.Object2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import org.jetbrains.annotations.ApiStatus;
 
+import java.io.File;
 import java.io.IOException;
+import java.text.SimpleDateFormat;
 import java.util.*;
 import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
 
 public class GuiSyncManager {
 
     public static final String AUTO_SYNC_PREFIX = "auto_sync:";
     private static final String PLAYER_INVENTORY = "player_inventory";
+    private static final String PLAYER_KEY = "player";
+
+    /**
+     * Maximum amount of ticks a sync handler can be deferred because the byte budget was used up.
+     */
+    public static final int MAX_DEFERRED_TICKS = 20;
 
     private static final String CURSOR_KEY = makeSyncKey("cursor_slot", 255255);
+    private static final String INTERN_TABLE_KEY = makeSyncKey("intern_table", 255255);
     private final CursorSlotSyncHandler cursorSlotSyncHandler = new CursorSlotSyncHandler();
+    private final InternTable<String> fluidNames = new InternTable<>(0, ByteBufAdapters.STRING, ByteBufAdapters.STRING, UnaryOperator.identity());
+    private final InternTable<NBTTagCompound> itemTags = new InternTable<>(1, ByteBufAdapters.NBT, ByteBufAdapters.NBT, NBTTagCompound::copy);
     private final EntityPlayer player;
     private final PlayerMainInvWrapper playerInventory;
-    private final Map<String, SyncHandler> syncHandlers = new Object2ObjectLinkedOpenHashMap<>();
+    private final ModularSlot[] playerSlots = new ModularSlot[36];
+    private boolean playerInventoryBound = false;
+    // key lookup, only used for registration and key based packets
+    private final Map<String, SyncHandler> syncHandlers = new Object2ObjectOpenHashMap<>();
     private final Map<String, SlotGroup> slotGroups = new Object2ObjectOpenHashMap<>();
-    private final Map<SyncHandler, String> reverseSyncHandlers = new Object2ObjectOpenHashMap<>();
+    private final Map<String, SlotGroupSyncHandler> slotGroupSyncHandlers = new Object2ObjectOpenHashMap<>();
+    // all registered sync handlers at their registry index, slots of disposed handlers are null and are reused
+    private SyncHandler[] handlers = new SyncHandler[64];
+    private String[] handlerKeys = new String[64];
+    private int handlerCount = 0;
+    private final IntArrayList freeHandlerSlots = new IntArrayList();
+    private SyncHandler[] networkHandlers = new SyncHandler[0];
+    private int networkKeyHash = 0;
     private ModularContainer container;
+    private String sharedSyncKey;
+    private SharedSyncGroup sharedSyncGroup;
+    private boolean closed = false;
+    private String name;
+    private final List<SyncHandler> dirtyHandlers = new ArrayList<>();
+    private final List<PacketSyncHandler> syncFrame = new ArrayList<>();
+    private boolean collectSyncFrame = false;
+    private boolean captureSyncFrame = false;
+    private boolean initialSyncDone = false;
+    private final List<PendingSync> pendingServerSyncs = new ArrayList<>();
+    private int tick = 0;
+    private int frameBytes = 0;
+    private long deferredSyncs = 0;
+    private long deferredBytes = 0;
+    @SuppressWarnings("unchecked")
+    private final List<SyncHandler>[] priorityBuckets = new List[SyncPriority.VALUES.length];
+    private boolean compactPriorityBuckets = false;
+    private SyncRecorder recorder;
 
     private final List<Consumer<EntityPlayer>> openListener = new ArrayList<>();
     private final List<Consumer<EntityPlayer>> closeListener = new ArrayList<>();
 
     public GuiSyncManager(EntityPlayer player) {
+        this(Objects.requireNonNull(player, "Player must not be null!"), player.inventory);
+    }
+
+    private GuiSyncManager(EntityPlayer player, InventoryPlayer inventory) {
         this.player = player;
-        this.playerInventory = new PlayerMainInvWrapper(player.inventory);
+        this.playerInventory = new PlayerMainInvWrapper(inventory);
+        for (int i = 0; i < this.priorityBuckets.length; i++) {
+            this.priorityBuckets[i] = new ArrayList<>();
+        }
         syncValue(CURSOR_KEY, this.cursorSlotSyncHandler);
-        String key = "player";
+        syncValue(INTERN_TABLE_KEY, new InternTableSyncHandler(this.fluidNames, this.itemTags));
         for (int i = 0; i < 36; i++) {
-            itemSlot(key, i, SyncHandlers.itemSlot(this.playerInventory, i).slotGroup(PLAYER_INVENTORY));
+            this.playerSlots[i] = SyncHandlers.itemSlot(this.playerInventory, i).slotGroup(PLAYER_INVENTORY);
         }
         // player inv sorting is handled by bogosorter
         registerSlotGroup(new SlotGroup(PLAYER_INVENTORY, 9, SlotGroup.PLAYER_INVENTORY_PRIO, true).setAllowSorting(false));
     }
 
+    /**
+     * Creates a client side sync manager which is not bound to a player or a running game, f.e. to replay a
+     * {@link SyncReplay}. The player inventory and cursor slot are backed by an inventory which belongs to no player and
+     * {@link #getPlayer()} returns null.
+     *
+     * @param syncHandlers registers the sync handlers. They must be the same as in the GUI the sync manager stands in for.
+     * @return a constructed headless sync manager
+     */
+    @ApiStatus.Internal
+    public static GuiSyncManager createHeadlessClient(Consumer<GuiSyncManager> syncHandlers) {
+        GuiSyncManager syncManager = new GuiSyncManager(null, new InventoryPlayer(null));
+        syncHandlers.accept(syncManager);
+        new ModularContainer(syncManager);
+        return syncManager;
+    }
+
+    /**
+     * Registers the sync handlers of the 36 player inventory slots with the key {@code player}. The player inventory slots and
+     * slot group always exist, only their sync handlers are created lazily. This is done automatically when a widget in a
+     * panel uses the {@code player} key or when a sync handler with that key is looked up. Calling it before the GUI is
+     * opened on both sides, f.e. in {@link com.cleanroommc.modularui.api.IGuiHolder#registerSyncHandlers(com.cleanroommc.modularui.factory.GuiData, GuiSyncManager)},
+     * lets the handlers use compact network handles.
+     *
+     * @return this
+     */
+    public GuiSyncManager bindPlayerInventory() {
+        if (!this.playerInventoryBound) {
+            this.playerInventoryBound = true;
+            for (int i = 0; i < 36; i++) {
+                itemSlot(PLAYER_KEY, i, this.playerSlots[i]);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * @param slot slot of the container
+     * @return false if the slot is a player inventory slot which doesn't have a sync handler yet
+     */
+    @ApiStatus.Internal
+    public boolean isSyncedBySyncHandler(ModularSlot slot) {
+        return this.playerInventoryBound || slot.getItemHandler() != this.playerInventory;
+    }
+
+    /**
+     * Creates the sync handler of a key if it's created lazily.
+     *
+     * @param mapKey the full sync key
+     */
+    @ApiStatus.Internal
+    public void requireSyncHandler(String mapKey) {
+        if (!this.playerInventoryBound && mapKey.startsWith(PLAYER_KEY + ":")) {
+            bindPlayerInventory();
+        }
+    }
+
     @ApiStatus.Internal
     public void construct(ModularContainer container) {
         if (this.container != null) {
             throw new IllegalStateException("Tried to initialise GuiSyncManager twice!");
         }
         this.container = Objects.requireNonNull(container, "ModularContainer must not be null!");
-        this.syncHandlers.forEach((mapKey, syncHandler) -> syncHandler.init(mapKey, this));
+        if (this.sharedSyncKey != null && !isClient()) {
+            this.sharedSyncGroup = SharedSyncGroup.join(this.sharedSyncKey, this);
+        }
+        // the player slots are always registered first, so the slot numbers are the same on both sides
+        for (ModularSlot slot : this.playerSlots) {
+            container.registerSlot(slot);
+        }
+        for (int i = 0; i < this.handlerCount; i++) {
+            if (this.handlers[i] != null) {
+                this.handlers[i].init(this.handlerKeys[i], this);
+            }
+        }
+        // the priority might have been changed before the handlers were initialised
+        for (List<SyncHandler> bucket : this.priorityBuckets) {
+            bucket.clear();
+        }
+        for (int i = 0; i < this.handlerCount; i++) {
+            if (this.handlers[i] != null) {
+                addToPriorityBucket(this.handlers[i]);
+            }
+        }
+        this.compactPriorityBuckets = false;
+        assignNetworkHandles();
+        if (ModularUIConfig.recordSyncTraffic && this.player != null && isClient()) {
+            startRecording();
+        }
+    }
+
+    private void startRecording() {
+        String name = new SimpleDateFormat("yyyy-MM-dd_HH.mm.ss.SSS").format(new Date()) + ".muisync";
+        File file = new File(Loader.instance().getConfigDir().getParentFile(), "modularui/sync_recordings/" + name);
+        try {
+            this.recorder = new SyncRecorder(file);
+            ModularUI.LOGGER.info("Recording sync traffic to {}", file);
+        } catch (IOException e) {
+            ModularUI.LOGGER.error("Failed to start sync recording", e);
+        }
+    }
+
+    /**
+     * Assigns a compact id to every sync handler which is registered at construction. The handlers are registered in the
+     * same order on server and client, so the ids match on both sides and can be sent instead of the string key.
+     * Sync handlers registered later are still sent with their key.
+     */
+    private void assignNetworkHandles() {
+        this.networkHandlers = new SyncHandler[this.handlerCount - this.freeHandlerSlots.size()];
+        String[] keys = new String[this.networkHandlers.length];
+        int handle = 0;
+        for (int i = 0; i < this.handlerCount; i++) {
+            SyncHandler syncHandler = this.handlers[i];
+            if (syncHandler != null) {
+                syncHandler.setNetworkHandle(handle);
+                this.networkHandlers[handle] = syncHandler;
+                keys[handle++] = syncHandler.getKey();
+            }
+        }
+        this.networkKeyHash = Arrays.hashCode(keys);
     }
 
     @ApiStatus.Internal
@@ -61,9 +231,35 @@ public class GuiSyncManager {
         this.openListener.forEach(listener -> listener.accept(this.player));
     }
 
+    /**
+     * Called when the container is closed, when the player disconnects or when opening the GUI failed. Only the first call
+     * has an effect.
+     */
     @ApiStatus.Internal
     public void onClose() {
-        this.closeListener.forEach(listener -> listener.accept(this.player));
+        if (this.closed) return;
+        this.closed = true;
+        try {
+            this.closeListener.forEach(listener -> listener.accept(this.player));
+            for (int i = 0; i < this.handlerCount; i++) {
+                SyncHandler syncHandler = this.handlers[i];
+                if (syncHandler == null) continue;
+                syncHandler.invalidateDirtyHandle();
+                if (syncHandler instanceof ValueSyncHandler<?>) {
+                    ((ValueSyncHandler<?>) syncHandler).leaveSharedGroup();
+                }
+            }
+        } finally {
+            // the group must be left even if a listener failed, otherwise it is kept forever
+            if (this.sharedSyncGroup != null) {
+                this.sharedSyncGroup.leave(this);
+                this.sharedSyncGroup = null;
+            }
+            if (this.recorder != null) {
+                this.recorder.close();
+                this.recorder = null;
+            }
+        }
     }
 
     public boolean isInitialised() {
@@ -71,47 +267,345 @@ public class GuiSyncManager {
     }
 
     public ItemStack getCursorItem() {
-        return getPlayer().inventory.getItemStack();
+        return this.playerInventory.getInventoryPlayer().getItemStack();
     }
 
     public void setCursorItem(ItemStack item) {
-        getPlayer().inventory.setItemStack(item);
+        this.playerInventory.getInventoryPlayer().setItemStack(item);
         this.cursorSlotSyncHandler.sync();
     }
 
     public void detectAndSendChanges(boolean init) {
-        if (!NetworkUtils.isClient(this.player)) {
-            for (SyncHandler syncHandler : this.syncHandlers.values()) {
-                syncHandler.detectAndSendChanges(init);
+        if (!isClient()) {
+            // the initial sync might have already been sent with the open packet
+            init = init && !this.initialSyncDone;
+            this.initialSyncDone = true;
+            this.collectSyncFrame = ModularUIConfig.batchSyncPackets || this.captureSyncFrame;
+            this.frameBytes = 0;
+            this.tick++;
+            if (this.compactPriorityBuckets) {
+                this.compactPriorityBuckets = false;
+                for (List<SyncHandler> bucket : this.priorityBuckets) {
+                    bucket.removeIf(Objects::isNull);
+                }
+            }
+            try {
+                // handlers with higher priority are checked first, so they are sent before the budget is used up
+                for (List<SyncHandler> bucket : this.priorityBuckets) {
+                    // handlers which are added while this runs are checked next tick
+                    for (int i = 0, n = bucket.size(); i < n; i++) {
+                        SyncHandler syncHandler = bucket.get(i);
+                        if (syncHandler != null && (init || (!syncHandler.isObserved() && canSync(syncHandler)))) {
+                            syncHandler.setLastSyncTick(this.tick);
+                            detectAndSendChanges(syncHandler, init);
+                        }
+                    }
+                }
+                detectAndSendDirtyChanges(init);
+            } finally {
+                this.collectSyncFrame = false;
+                if (!this.captureSyncFrame) {
+                    flushSyncFrame();
+                }
+            }
+        }
+    }
+
+    private void detectAndSendDirtyChanges(boolean init) {
+        // handlers which are marked dirty while this runs are checked next tick
+        int n = this.dirtyHandlers.size();
+        int kept = 0;
+        for (int i = 0; i < n; i++) {
+            SyncHandler syncHandler = this.dirtyHandlers.get(i);
+            // observed handlers were already checked in the first tick
+            if (!init && syncHandler.isValid() && syncHandler.getSyncManager() == this) {
+                if (!canSync(syncHandler)) {
+                    // stays dirty and is checked again next tick
+                    this.dirtyHandlers.set(kept++, syncHandler);
+                    continue;
+                }
+                syncHandler.clearDirty();
+                syncHandler.setLastSyncTick(this.tick);
+                detectAndSendChanges(syncHandler, false);
+            } else {
+                syncHandler.clearDirty();
             }
         }
+        this.dirtyHandlers.subList(kept, n).clear();
+    }
+
+    private static void detectAndSendChanges(SyncHandler syncHandler, boolean init) {
+        if (!syncHandler.sampleTiming()) {
+            syncHandler.detectAndSendChanges(init);
+            return;
+        }
+        long start = System.nanoTime();
+        syncHandler.detectAndSendChanges(init);
+        long time = System.nanoTime() - start;
+        // the handler might have disposed itself
+        if (syncHandler.getKeyStats() != null) {
+            syncHandler.getKeyStats().getDetectTiming().add(time);
+            syncHandler.getClassStats().getDetectTiming().add(time);
+        }
+    }
+
+    /**
+     * Checks if a sync handler may be checked for changes in this tick. A handler is skipped if its sync interval has not
+     * passed yet or if the byte budget of this tick is used up. Deferred handlers are always checked after
+     * {@link #MAX_DEFERRED_TICKS}, so their latest value is guaranteed to arrive.
+     */
+    private boolean canSync(SyncHandler syncHandler) {
+        int ticksSinceSync = this.tick - syncHandler.getLastSyncTick();
+        if (ticksSinceSync < syncHandler.getSyncInterval()) {
+            return false;
+        }
+        int budget = ModularUIConfig.syncByteBudgetPerTick;
+        if (budget > 0 && this.frameBytes >= budget &&
+                syncHandler.getSyncPriority() != SyncPriority.HIGH &&
+                ticksSinceSync < MAX_DEFERRED_TICKS) {
+            // a handler which stays deferred for multiple ticks is only counted once
+            if (!syncHandler.isDeferred()) {
+                syncHandler.setDeferred(true);
+                this.deferredSyncs++;
+                this.deferredBytes += syncHandler.getLastPayloadSize();
+            }
+            return false;
+        }
+        syncHandler.setDeferred(false);
+        return true;
+    }
+
+    /**
+     * Runs the initial sync, but returns the packets instead of sending them, so they can be sent with the open packet.
+     * The packets are written with their key instead of their handle. The caller takes ownership of the packets.
+     *
+     * @return the packets of the initial sync
+     */
+    @ApiStatus.Internal
+    public List<PacketSyncHandler> captureInitialSync() {
+        if (this.initialSyncDone) {
+            throw new IllegalStateException("Initial sync was already sent!");
+        }
+        this.captureSyncFrame = true;
+        try {
+            detectAndSendChanges(true);
+        } finally {
+            this.captureSyncFrame = false;
+        }
+        List<PacketSyncHandler> packets = new ArrayList<>(this.syncFrame);
+        this.syncFrame.clear();
+        return packets;
+    }
+
+    void markDirty(SyncHandler syncHandler) {
+        this.dirtyHandlers.add(syncHandler);
+    }
+
+    /**
+     * Sends a sync handler packet to the client. If this is called during {@link #detectAndSendChanges(boolean)} the packet
+     * is collected and sent together with all other packets of this pass.
+     *
+     * @param syncHandler the sending sync handler
+     * @param buffer      the packet data
+     */
+    @ApiStatus.Internal
+    public void sendToClient(SyncHandler syncHandler, PacketBuffer buffer) {
+        int size = buffer.readableBytes();
+        syncHandler.setLastPayloadSize(size);
+        syncHandler.onPacketSent(size);
+        this.frameBytes += size;
+        // the initial sync is sent with keys, so the client can apply it even if the handles don't match
+        int handle = this.captureSyncFrame ? -1 : syncHandler.getNetworkHandle();
+        PacketSyncHandler packet = new PacketSyncHandler(syncHandler.getKey(), handle, buffer);
+        if (this.collectSyncFrame) {
+            this.syncFrame.add(packet);
+        } else {
+            try {
+                NetworkHandler.sendToPlayer(packet, (EntityPlayerMP) this.player);
+            } finally {
+                packet.release();
+            }
+        }
+    }
+
+    /**
+     * Queues a packet to the server. If a packet with the same sync handler and id is already queued, it is replaced.
+     * The writer is called when the packet is sent, so it should write the latest value.
+     */
+    void queueToServer(SyncHandler syncHandler, int id, IPacketWriter writer) {
+        for (PendingSync pendingSync : this.pendingServerSyncs) {
+            if (pendingSync.syncHandler == syncHandler && pendingSync.id == id) {
+                pendingSync.writer = writer;
+                return;
+            }
+        }
+        this.pendingServerSyncs.add(new PendingSync(syncHandler, id, writer));
+    }
+
+    /**
+     * Sends all queued packets to the server. Is called every client tick, when the mouse is released, when a widget loses
+     * focus and before any other packet is sent to the server.
+     */
+    public void flushToServer() {
+        if (this.pendingServerSyncs.isEmpty()) return;
+        PendingSync[] pendingSyncs = this.pendingServerSyncs.toArray(new PendingSync[0]);
+        this.pendingServerSyncs.clear();
+        for (PendingSync pendingSync : pendingSyncs) {
+            if (pendingSync.syncHandler.isValid() && pendingSync.syncHandler.getSyncManager() == this) {
+                pendingSync.syncHandler.syncToServer(pendingSync.id, pendingSync.writer);
+            }
+        }
+    }
+
+    private void flushSyncFrame() {
+        if (this.syncFrame.isEmpty()) return;
+        try {
+            if (this.syncFrame.size() == 1) {
+                NetworkHandler.sendToPlayer(this.syncFrame.get(0), (EntityPlayerMP) this.player);
+            } else {
+                NetworkHandler.sendToPlayer(new PacketSyncBatch(new ArrayList<>(this.syncFrame)), (EntityPlayerMP) this.player);
+            }
+        } finally {
+            this.syncFrame.forEach(PacketSyncHandler::release);
+            this.syncFrame.clear();
+        }
     }
 
     public void receiveWidgetUpdate(String mapKey, int id, PacketBuffer buf) throws IOException {
-        SyncHandler syncHandler = this.syncHandlers.get(mapKey);
-        if (NetworkUtils.isClient(this.player)) {
+        receiveWidgetUpdate(getSyncHandler(mapKey), id, buf);
+    }
+
+    @ApiStatus.Internal
+    public void receiveWidgetUpdate(int handle, int id, PacketBuffer buf) throws IOException {
+        if (handle >= 0 && handle < this.networkHandlers.length) {
+            receiveWidgetUpdate(this.networkHandlers[handle], id, buf);
+        }
+    }
+
+    private void receiveWidgetUpdate(SyncHandler syncHandler, int id, PacketBuffer buf) throws IOException {
+        // the handler might have been disposed while the packet was on its way
+        if (syncHandler == null) return;
+        if (this.recorder != null) {
+            this.recorder.record(this.player.world != null ? this.player.world.getTotalWorldTime() : 0, syncHandler.getKey(), id, buf);
+        }
+        syncHandler.onPacketReceived(buf.readableBytes());
+        boolean sample = syncHandler.sampleTiming();
+        long start = sample ? System.nanoTime() : 0;
+        if (isClient()) {
             syncHandler.readOnClient(id, buf);
         } else {
             syncHandler.readOnServer(id, buf);
         }
+        if (sample && syncHandler.getKeyStats() != null) {
+            long time = System.nanoTime() - start;
+            syncHandler.getKeyStats().getDecodeTiming().add(time);
+            syncHandler.getClassStats().getDecodeTiming().add(time);
+        }
     }
 
     @ApiStatus.Internal
     public void disposeSyncHandler(SyncHandler syncHandler) {
-        String key = this.reverseSyncHandlers.remove(syncHandler);
-        if (key != null) {
-            this.syncHandlers.remove(key);
+        if (removeFromRegistry(syncHandler)) {
             syncHandler.dispose();
         }
     }
 
+    /**
+     * Stops using network handles and sends all packets with their key instead. This is used when the sync handlers are
+     * not registered the same on server and client, so handles would be dispatched to the wrong sync handler. On server
+     * side, everything is synced again, since the client drops packets with a handle from now on.
+     * <p>
+     * The client also drops intern table definitions which are still on their way, so both sides reset their intern tables
+     * and the resync announces all values again.
+     */
+    @ApiStatus.Internal
+    public void disableNetworkHandles() {
+        this.networkHandlers = new SyncHandler[0];
+        for (int i = 0; i < this.handlerCount; i++) {
+            if (this.handlers[i] != null) {
+                this.handlers[i].setNetworkHandle(-1);
+            }
+        }
+        this.fluidNames.reset();
+        this.itemTags.reset();
+        if (!isClient() && this.initialSyncDone) {
+            this.initialSyncDone = false;
+            detectAndSendChanges(true);
+        }
+    }
+
     public boolean hasSyncHandler(SyncHandler syncHandler) {
-        return syncHandler.isValid() && syncHandler.getSyncManager() == this && this.reverseSyncHandlers.containsKey(syncHandler);
+        return syncHandler.isValid() && syncHandler.getSyncManager() == this && isRegistered(syncHandler);
+    }
+
+    private boolean isRegistered(SyncHandler syncHandler) {
+        int index = syncHandler.getRegistryIndex();
+        return index >= 0 && index < this.handlerCount && this.handlers[index] == syncHandler;
+    }
+
+    private boolean removeFromRegistry(SyncHandler syncHandler) {
+        if (!isRegistered(syncHandler)) return false;
+        // the handle now points to nothing, a new sync handler with the same key is sent with its key
+        int handle = syncHandler.getNetworkHandle();
+        if (handle >= 0) {
+            if (handle < this.networkHandlers.length) {
+                this.networkHandlers[handle] = null;
+            }
+            syncHandler.setNetworkHandle(-1);
+        }
+        removeFromPriorityBucket(syncHandler, syncHandler.getSyncPriority());
+        int index = syncHandler.getRegistryIndex();
+        this.syncHandlers.remove(this.handlerKeys[index]);
+        this.handlers[index] = null;
+        this.handlerKeys[index] = null;
+        this.freeHandlerSlots.add(index);
+        syncHandler.setRegistryIndex(-1);
+        return true;
+    }
+
+    private void addToRegistry(String key, SyncHandler syncHandler) {
+        int index;
+        if (!this.freeHandlerSlots.isEmpty()) {
+            index = this.freeHandlerSlots.popInt();
+        } else {
+            if (this.handlerCount == this.handlers.length) {
+                int size = this.handlers.length + (this.handlers.length >> 1);
+                this.handlers = Arrays.copyOf(this.handlers, size);
+                this.handlerKeys = Arrays.copyOf(this.handlerKeys, size);
+            }
+            index = this.handlerCount++;
+        }
+        this.handlers[index] = syncHandler;
+        this.handlerKeys[index] = key;
+        syncHandler.setRegistryIndex(index);
+        this.syncHandlers.put(key, syncHandler);
+        addToPriorityBucket(syncHandler);
+    }
+
+    private void addToPriorityBucket(SyncHandler syncHandler) {
+        this.priorityBuckets[syncHandler.getSyncPriority().ordinal()].add(syncHandler);
+    }
+
+    private void removeFromPriorityBucket(SyncHandler syncHandler, SyncPriority priority) {
+        List<SyncHandler> bucket = this.priorityBuckets[priority.ordinal()];
+        int i = bucket.indexOf(syncHandler);
+        if (i >= 0) {
+            // removed before the next tick, so the buckets can be safely iterated while handlers are removed
+            bucket.set(i, null);
+            this.compactPriorityBuckets = true;
+        }
+    }
+
+    void onSyncPriorityChanged(SyncHandler syncHandler, SyncPriority old) {
+        if (isRegistered(syncHandler)) {
+            removeFromPriorityBucket(syncHandler, old);
+            addToPriorityBucket(syncHandler);
+        }
     }
 
     private void putSyncValue(String name, int id, SyncHandler syncHandler) {
         String key = makeSyncKey(name, id);
-        String currentKey = this.reverseSyncHandlers.get(syncHandler);
+        String currentKey = isRegistered(syncHandler) ? this.handlerKeys[syncHandler.getRegistryIndex()] : null;
         if (currentKey != null) {
             if (!currentKey.equals(key)) {
                 boolean auto = name.startsWith(AUTO_SYNC_PREFIX);
@@ -122,10 +616,14 @@ public class GuiSyncManager {
                     throw new IllegalStateException("Sync Handler was previously added with a different panel!");
                 }
             }
-            this.syncHandlers.remove(currentKey);
+            removeFromRegistry(syncHandler);
         }
-        this.syncHandlers.put(key, syncHandler);
-        this.reverseSyncHandlers.put(syncHandler, key);
+        SyncHandler replaced = this.syncHandlers.get(key);
+        if (replaced != null) {
+            // the key now belongs to the new sync handler
+            removeFromRegistry(replaced);
+        }
+        addToRegistry(key, syncHandler);
         if (isInitialised()) {
             syncHandler.init(key, this);
         }
@@ -161,6 +659,11 @@ public class GuiSyncManager {
     public GuiSyncManager registerSlotGroup(SlotGroup slotGroup) {
         if (!slotGroup.isSingleton()) {
             this.slotGroups.put(slotGroup.getName(), slotGroup);
+            if (slotGroup.isBulkSync() && !this.slotGroupSyncHandlers.containsKey(slotGroup.getName())) {
+                SlotGroupSyncHandler syncHandler = new SlotGroupSyncHandler();
+                this.slotGroupSyncHandlers.put(slotGroup.getName(), syncHandler);
+                syncValue("slot_group:" + slotGroup.getName(), 255255, syncHandler);
+            }
         }
         return this;
     }
@@ -191,14 +694,113 @@ public class GuiSyncManager {
         return this.slotGroups.get(name);
     }
 
+    SlotGroupSyncHandler getSlotGroupSyncHandler(String name) {
+        return this.slotGroupSyncHandlers.get(name);
+    }
+
     public Collection<SlotGroup> getSlotGroups() {
         return this.slotGroups.values();
     }
 
     public SyncHandler getSyncHandler(String mapKey) {
+        requireSyncHandler(mapKey);
         return this.syncHandlers.get(mapKey);
     }
 
+    /**
+     * Sets the key which identifies the GUI and its position. Shared sync handlers of GUIs with the same key only encode their
+     * value once. Must be set before the sync manager is constructed.
+     *
+     * @param sharedSyncKey GUI and position key or null to disable sharing
+     * @see ValueSyncHandler#setShared(boolean)
+     */
+    @ApiStatus.Internal
+    public void setSharedSyncKey(String sharedSyncKey) {
+        if (isInitialised()) {
+            throw new IllegalStateException("Shared sync key must be set before the sync manager is initialised!");
+        }
+        this.sharedSyncKey = sharedSyncKey;
+    }
+
+    public String getSharedSyncKey() {
+        return this.sharedSyncKey;
+    }
+
+    /**
+     * @return the group of all open sync managers with the same shared sync key or null on client side or if sharing is
+     * disabled
+     */
+    SharedSyncGroup getSharedSyncGroup() {
+        return this.sharedSyncGroup;
+    }
+
+    /**
+     * Sets the name of this GUI, usually the name of its factory. Sync statistics of the sync handlers are grouped by it,
+     * so the same key in different GUIs is counted separately. Must be set before the sync manager is initialised.
+     *
+     * @param name GUI name or null
+     */
+    @ApiStatus.Internal
+    public void setName(String name) {
+        if (isInitialised()) {
+            throw new IllegalStateException("Name must be set before the sync manager is initialised!");
+        }
+        this.name = name;
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * @param key sync handler key
+     * @return the key of a sync handler of this GUI in the {@link SyncStats}
+     */
+    public String getStatsKey(String key) {
+        return this.name == null ? key : this.name + "/" + key;
+    }
+
+    /**
+     * @return a hash of the keys of all sync handlers with a network handle in handle order. Used to validate that server and
+     * client registered the same sync handlers.
+     */
+    @ApiStatus.Internal
+    public int getNetworkKeyHash() {
+        return this.networkKeyHash;
+    }
+
+    /**
+     * @return how often sync handlers were deferred, because the byte budget of a tick was used up. A sync handler which
+     * stays deferred for multiple ticks is counted once.
+     */
+    public long getDeferredSyncCount() {
+        return this.deferredSyncs;
+    }
+
+    /**
+     * @return estimated bytes of all deferred syncs. The estimate is based on the last packet size of each deferred handler.
+     */
+    public long getDeferredSyncBytes() {
+        return this.deferredBytes;
+    }
+
+    /**
+     * @return the table of fluid names that were synced in this GUI
+     */
+    public InternTable<String> getFluidNameTable() {
+        return this.fluidNames;
+    }
+
+    /**
+     * @return the table of item NBT tags that were synced in this GUI
+     */
+    public InternTable<NBTTagCompound> getItemTagTable() {
+        return this.itemTags;
+    }
+
+    /**
+     * @return the player of this GUI or null if this is a headless sync manager
+     */
     public EntityPlayer getPlayer() {
         return this.player;
     }
@@ -212,10 +814,24 @@ public class GuiSyncManager {
     }
 
     public boolean isClient() {
-        return NetworkUtils.isClient(this.player);
+        // headless sync managers are always client side
+        return this.player == null || NetworkUtils.isClient(this.player);
     }
 
     public static String makeSyncKey(String name, int id) {
         return name + ":" + id;
     }
+
+    private static class PendingSync {
+
+        private final SyncHandler syncHandler;
+        private final int id;
+        private IPacketWriter writer;
+
+        private PendingSync(SyncHandler syncHandler, int id, IPacketWriter writer) {
+            this.syncHandler = syncHandler;
+            this.id = id;
+            this.writer = writer;
+        }
+    }
 }
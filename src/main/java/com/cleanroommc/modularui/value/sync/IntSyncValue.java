@@ -74,6 +74,11 @@ public class IntSyncValue extends ValueSyncHandler<Integer> implements IIntSyncV
         return false;
     }
 
+    @Override
+    protected boolean canBeShared() {
+        return true;
+    }
+
     @Override
     public void write(PacketBuffer buffer) {
         buffer.writeVarInt(this.cache);
@@ -93,4 +98,9 @@ public class IntSyncValue extends ValueSyncHandler<Integer> implements IIntSyncV
     public String getStringValue() {
         return String.valueOf(this.cache);
     }
+
+    @Override
+    protected boolean isCoalescedToServer(int id) {
+        return id == 0;
+    }
 }
@@ -0,0 +1,107 @@
+package com.cleanroommc.modularui.value.sync;
+
+import com.cleanroommc.modularui.utils.serialization.IByteBufDeserializer;
+import com.cleanroommc.modularui.utils.serialization.IByteBufSerializer;
+
+import net.minecraft.network.PacketBuffer;
+
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+/**
+ * A table of values which are often synced in a GUI, like fluid names or item NBT. A value is fully sent only the first time
+ * it is written. After that only its id is sent. The table exists once per {@link GuiSyncManager} and is shared by all
+ * sync handlers of it.
+ * <p>
+ * New values are announced with a separate packet that is sent before the packet which references the value. This way the
+ * tables on both sides stay the same even if the referencing packet is dropped, f.e. because its sync handler was disposed.
+ *
+ * @param <T> value type
+ */
+public class InternTable<T> {
+
+    private static final int MAX_SIZE = 1024;
+
+    private final int id;
+    private final IByteBufSerializer<T> serializer;
+    private final IByteBufDeserializer<T> deserializer;
+    private final UnaryOperator<T> copy;
+    private final Object2IntMap<T> outgoing = new Object2IntOpenHashMap<>();
+    private final List<T> incoming = new ObjectArrayList<>();
+    private SyncHandler syncHandler;
+
+    InternTable(int id, IByteBufSerializer<T> serializer, IByteBufDeserializer<T> deserializer, UnaryOperator<T> copy) {
+        this.id = id;
+        this.serializer = serializer;
+        this.deserializer = deserializer;
+        this.copy = copy;
+        this.outgoing.defaultReturnValue(-1);
+    }
+
+    void setSyncHandler(SyncHandler syncHandler) {
+        this.syncHandler = syncHandler;
+    }
+
+    /**
+     * Writes a value to the buffer. If the value is not yet known on the other side it is announced first.
+     * The value must not be null.
+     *
+     * @param buffer buffer to write to
+     * @param value  value to write
+     * @throws IOException if the value can not be written
+     */
+    public void write(PacketBuffer buffer, T value) throws IOException {
+        int index = this.outgoing.getInt(value);
+        if (index < 0) {
+            if (this.outgoing.size() >= MAX_SIZE || !this.syncHandler.isValid()) {
+                // table is full, write the value directly
+                buffer.writeVarInt(0);
+                this.serializer.serialize(buffer, value);
+                return;
+            }
+            index = this.outgoing.size();
+            this.outgoing.put(this.copy.apply(value), index);
+            this.syncHandler.sync(this.id, buf -> this.serializer.serialize(buf, value));
+        }
+        buffer.writeVarInt(index + 1);
+    }
+
+    /**
+     * Reads a value written by {@link #write(PacketBuffer, Object)}.
+     *
+     * @param buffer buffer to read from
+     * @return the read value
+     * @throws IOException if the value can not be read or is unknown
+     */
+    public T read(PacketBuffer buffer) throws IOException {
+        int index = buffer.readVarInt() - 1;
+        if (index < 0) {
+            return this.deserializer.deserialize(buffer);
+        }
+        if (index >= this.incoming.size()) {
+            throw new IOException("Unknown interned value with id " + index);
+        }
+        return this.copy.apply(this.incoming.get(index));
+    }
+
+    /**
+     * Forgets all values, which were sent or received. Both sides must reset at the same point of the packet stream.
+     */
+    void reset() {
+        this.outgoing.clear();
+        this.incoming.clear();
+    }
+
+    void readDefinition(PacketBuffer buffer) throws IOException {
+        // the other side never announces more values than this, so it is either broken or malicious
+        if (this.incoming.size() >= MAX_SIZE) {
+            throw new IOException("Intern table is full, but received another value");
+        }
+        this.incoming.add(this.deserializer.deserialize(buffer));
+    }
+}
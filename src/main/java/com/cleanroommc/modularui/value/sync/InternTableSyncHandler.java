@@ -0,0 +1,37 @@
+package com.cleanroommc.modularui.value.sync;
+
+import net.minecraft.network.PacketBuffer;
+
+import java.io.IOException;
+
+/**
+ * Receives new values for the {@link InternTable InternTables} of a {@link GuiSyncManager}. The packet id is the table id.
+ */
+class InternTableSyncHandler extends SyncHandler {
+
+    private final InternTable<?>[] tables;
+
+    InternTableSyncHandler(InternTable<?>... tables) {
+        this.tables = tables;
+        for (InternTable<?> table : tables) {
+            table.setSyncHandler(this);
+        }
+    }
+
+    @Override
+    public void readOnClient(int id, PacketBuffer buf) throws IOException {
+        getTable(id).readDefinition(buf);
+    }
+
+    @Override
+    public void readOnServer(int id, PacketBuffer buf) throws IOException {
+        getTable(id).readDefinition(buf);
+    }
+
+    private InternTable<?> getTable(int id) throws IOException {
+        if (id < 0 || id >= this.tables.length) {
+            throw new IOException("Unknown intern table with id " + id);
+        }
+        return this.tables[id];
+    }
+}
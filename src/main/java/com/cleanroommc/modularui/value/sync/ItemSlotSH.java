@@ -1,5 +1,6 @@
 package com.cleanroommc.modularui.value.sync;
 
+import com.cleanroommc.modularui.ModularUIConfig;
 import com.cleanroommc.modularui.network.NetworkUtils;
 import com.cleanroommc.modularui.utils.MouseData;
 import com.cleanroommc.modularui.widgets.slot.ModularSlot;
@@ -19,30 +20,80 @@ import java.io.IOException;
  */
 public class ItemSlotSH extends SyncHandler {
 
+    // changes which are also synced by vanilla
+    private static final int ITEM_CHANGED = 1;
+    private static final int AMOUNT_CHANGED = 6;
+    // changes of slots which vanilla doesn't sync, the client needs to put the stack into the slot itself
+    private static final int ITEM_CHANGED_PUT = 7;
+    private static final int AMOUNT_CHANGED_PUT = 8;
+
     private final ModularSlot slot;
     private ItemStack lastStoredItem;
     private ItemStack lastStoredPhantomItem = ItemStack.EMPTY;
+    private SlotGroupSyncHandler slotGroupSyncHandler;
 
     @ApiStatus.Internal
     public ItemSlotSH(ModularSlot slot) {
         this.slot = slot;
+        setSyncPriority(SyncPriority.HIGH);
     }
 
     @Override
     public void init(String key, GuiSyncManager syncHandler) {
         super.init(key, syncHandler);
-        syncHandler.getContainer().registerSlot(this.slot);
+        // player inventory slots are registered by the sync manager
+        if (!syncHandler.getContainer().inventorySlots.contains(this.slot)) {
+            syncHandler.getContainer().registerSlot(this.slot);
+        }
         this.lastStoredItem = getSlot().getStack().copy();
         if (isPhantom() && !getSlot().getStack().isEmpty()) {
             this.lastStoredPhantomItem = getSlot().getStack().copy();
             this.lastStoredPhantomItem.setCount(1);
         }
+        SlotGroupSyncHandler slotGroupSyncHandler = getSlotGroup() == null ? null : syncHandler.getSlotGroupSyncHandler(getSlotGroup());
+        this.slotGroupSyncHandler = slotGroupSyncHandler != null && slotGroupSyncHandler.addSlot(this) ? slotGroupSyncHandler : null;
+    }
+
+    /**
+     * Called when the slot group can't sync this slot anymore. On server side the full state is sent, since the client
+     * might have skipped changes of the slot group.
+     */
+    void leaveSlotGroupSync() {
+        this.slotGroupSyncHandler = null;
+        if (!getSyncManager().isClient()) {
+            detectAndSendChanges(true);
+        }
+    }
+
+    @Override
+    public void dispose() {
+        if (this.slotGroupSyncHandler != null) {
+            this.slotGroupSyncHandler.removeSlot(this);
+            this.slotGroupSyncHandler = null;
+        }
+        super.dispose();
     }
 
     @Override
     public void detectAndSendChanges(boolean init) {
+        // slots of bulk synced slot groups are synced by the group
+        if (this.slotGroupSyncHandler != null) return;
+        int change = detectChange(init);
+        if (change != 0) {
+            syncToClient(change, buffer -> writeChange(buffer, change, init));
+        }
+    }
+
+    /**
+     * Checks the slot for changes and updates the cache.
+     *
+     * @param init if this is the first check
+     * @return 0 if nothing changed, 1 if the item changed or 6 if only the amount changed. 7 and 8 respectively if vanilla
+     * doesn't sync the slot.
+     */
+    int detectChange(boolean init) {
         ItemStack itemStack = getSlot().getStack();
-        if (itemStack.isEmpty() && this.lastStoredItem.isEmpty()) return;
+        if (itemStack.isEmpty() && this.lastStoredItem.isEmpty()) return 0;
         boolean onlyAmountChanged = false;
         if (init ||
                 !ItemHandlerHelper.canItemStacksStack(this.lastStoredItem, itemStack) ||
@@ -53,21 +104,64 @@ public class ItemSlotSH extends SyncHandler {
             } else {
                 this.lastStoredItem = itemStack.isEmpty() ? ItemStack.EMPTY : itemStack.copy();
             }
-            final boolean finalOnlyAmountChanged = onlyAmountChanged;
-            syncToClient(1, buffer -> {
-                buffer.writeBoolean(finalOnlyAmountChanged);
-                buffer.writeItemStack(itemStack);
-                buffer.writeBoolean(init);
-            });
+            if (ModularUIConfig.syncSlotsOnlyWithSyncHandler) {
+                // listeners may keep the stack, but the count of the cached stack is changed in place
+                getSyncManager().getContainer().notifySlotListeners(getSlot(), this.lastStoredItem.copy());
+                return onlyAmountChanged ? AMOUNT_CHANGED_PUT : ITEM_CHANGED_PUT;
+            }
+            return onlyAmountChanged ? AMOUNT_CHANGED : ITEM_CHANGED;
+        }
+        return 0;
+    }
+
+    private static boolean isAmountChange(int change) {
+        return change == AMOUNT_CHANGED || change == AMOUNT_CHANGED_PUT;
+    }
+
+    private static boolean isChange(int id) {
+        return id == ITEM_CHANGED || id == AMOUNT_CHANGED || id == ITEM_CHANGED_PUT || id == AMOUNT_CHANGED_PUT;
+    }
+
+    void writeChange(PacketBuffer buffer, int change, boolean init) throws IOException {
+        if (isAmountChange(change)) {
+            buffer.writeVarInt(this.lastStoredItem.getCount());
+        } else {
+            NetworkUtils.writeItemStack(buffer, this.lastStoredItem, getSyncManager().getItemTagTable());
+            buffer.writeBoolean(init);
+        }
+    }
+
+    void readChange(PacketBuffer buf, int change) throws IOException {
+        // only put the stack if the server doesn't sync the slot with vanilla, otherwise the change would be applied twice
+        boolean putStack = change == ITEM_CHANGED_PUT || change == AMOUNT_CHANGED_PUT;
+        if (isAmountChange(change)) {
+            int amount = buf.readVarInt();
+            // the cached stack might be shared, f.e. ItemStack.EMPTY, so it's never changed in place
+            if (this.lastStoredItem.isEmpty()) return;
+            this.lastStoredItem = this.lastStoredItem.copy();
+            this.lastStoredItem.setCount(amount);
+            if (putStack) getSlot().putStack(this.lastStoredItem.copy());
+            getSlot().onSlotChangedReal(this.lastStoredItem, true, true, false);
+        } else {
+            this.lastStoredItem = NetworkUtils.readItemStack(buf, getSyncManager().getItemTagTable());
+            if (putStack) getSlot().putStack(this.lastStoredItem.copy());
+            getSlot().onSlotChangedReal(this.lastStoredItem, false, true, buf.readBoolean());
+        }
+    }
+
+    static void skipChange(PacketBuffer buf, int change, GuiSyncManager syncManager) throws IOException {
+        if (isAmountChange(change)) {
+            buf.readVarInt();
+        } else {
+            NetworkUtils.readItemStack(buf, syncManager.getItemTagTable());
+            buf.readBoolean();
         }
     }
 
     @Override
-    public void readOnClient(int id, PacketBuffer buf) {
-        if (id == 1) {
-            boolean onlyAmountChanged = buf.readBoolean();
-            this.lastStoredItem = NetworkUtils.readItemStack(buf);
-            getSlot().onSlotChangedReal(this.lastStoredItem, onlyAmountChanged, true, buf.readBoolean());
+    public void readOnClient(int id, PacketBuffer buf) throws IOException {
+        if (isChange(id)) {
+            readChange(buf, id);
         } else if (id == 4) {
             setEnabled(buf.readBoolean(), false);
         }
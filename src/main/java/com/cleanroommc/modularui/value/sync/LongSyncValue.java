@@ -76,6 +76,11 @@ public class LongSyncValue extends ValueSyncHandler<Long> implements ILongSyncVa
         return false;
     }
 
+    @Override
+    protected boolean canBeShared() {
+        return true;
+    }
+
     @Override
     public void write(PacketBuffer buffer) {
         buffer.writeVarLong(getLongValue());
@@ -105,4 +110,9 @@ public class LongSyncValue extends ValueSyncHandler<Long> implements ILongSyncVa
     public String getStringValue() {
         return String.valueOf(this.cache);
     }
+
+    @Override
+    protected boolean isCoalescedToServer(int id) {
+        return id == 0;
+    }
 }
@@ -0,0 +1,232 @@
+package com.cleanroommc.modularui.value.sync;
+
+import com.cleanroommc.modularui.utils.ObjectList;
+import com.cleanroommc.modularui.utils.serialization.IByteBufAdapter;
+import com.cleanroommc.modularui.utils.serialization.IByteBufDeserializer;
+import com.cleanroommc.modularui.utils.serialization.IByteBufSerializer;
+import com.cleanroommc.modularui.utils.serialization.IEquals;
+import com.cleanroommc.modularui.widget.scroll.ScrollArea;
+import com.cleanroommc.modularui.widget.scroll.ScrollData;
+
+import net.minecraft.network.PacketBuffer;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Syncs a large list only partially. The client tells the server which entries are visible and the server only syncs the
+ * size of the list and the entries in the visible range plus a prefetch margin. When the visible range moves, only the
+ * entries which the client does not have yet are sent.
+ * <p>
+ * Entries which are not synced yet are null on client side. Requesting a new range never waits for the server.
+ * The visible range can f.e. be updated from a list widget with
+ * {@code listWidget.onUpdateListener(w -> syncHandler.setVisibleRange(w.getScrollData(), w.getScrollArea(), 18))}.
+ *
+ * @param <T> type of list entries
+ */
+public class PagedListSyncHandler<T> extends SyncHandler {
+
+    /**
+     * Maximum amount of entries the client can request at once.
+     */
+    public static final int MAX_WINDOW_SIZE = 1024;
+
+    private final Supplier<List<T>> getter;
+    private final IByteBufDeserializer<T> deserializer;
+    private final IByteBufSerializer<T> serializer;
+    private final IEquals<T> equals;
+    private int prefetch = 16;
+    // window of the list which exists on client
+    private final ObjectList<T> window = ObjectList.create();
+    private int windowStart = 0;
+    private int size = 0;
+    // range which the client requested
+    private int visibleStart = 0, visibleEnd = 0;
+    private final List<Runnable> changeListeners = new ArrayList<>();
+
+    public PagedListSyncHandler(@NotNull Supplier<List<T>> getter, @NotNull IByteBufAdapter<T> adapter) {
+        this(getter, adapter, adapter, adapter);
+    }
+
+    public PagedListSyncHandler(@NotNull Supplier<List<T>> getter,
+                                @NotNull IByteBufDeserializer<T> deserializer,
+                                @NotNull IByteBufSerializer<T> serializer,
+                                @Nullable IEquals<T> equals) {
+        this.getter = Objects.requireNonNull(getter);
+        this.deserializer = Objects.requireNonNull(deserializer);
+        this.serializer = Objects.requireNonNull(serializer);
+        this.equals = equals != null ? IEquals.wrapNullSafe(equals) : Objects::equals;
+    }
+
+    @Override
+    public void detectAndSendChanges(boolean init) {
+        List<T> list = this.getter.get();
+        int newSize = list.size();
+        int newStart = Math.max(0, Math.min(this.visibleStart - this.prefetch, newSize));
+        int newEnd = Math.max(newStart, Math.min(this.visibleEnd + this.prefetch, newSize));
+        int oldStart = this.windowStart, oldEnd = this.windowStart + this.window.size();
+        if (!init && newSize == this.size && newStart == oldStart && newEnd == oldEnd && !didWindowChange(list)) {
+            return;
+        }
+        syncToClient(0, buffer -> {
+            buffer.writeVarInt(newSize);
+            buffer.writeVarInt(newStart);
+            buffer.writeVarInt(newEnd - newStart);
+            ObjectList<T> newWindow = ObjectList.create(newEnd - newStart);
+            int changed = 0;
+            for (int i = newStart; i < newEnd; i++) {
+                if (init || i < oldStart || i >= oldEnd || !this.equals.areEqual(this.window.get(i - oldStart), list.get(i))) {
+                    changed++;
+                }
+            }
+            buffer.writeVarInt(changed);
+            for (int i = newStart; i < newEnd; i++) {
+                T t = list.get(i);
+                if (init || i < oldStart || i >= oldEnd || !this.equals.areEqual(this.window.get(i - oldStart), t)) {
+                    buffer.writeVarInt(i - newStart);
+                    this.serializer.serialize(buffer, t);
+                }
+                newWindow.add(t);
+            }
+            setWindow(newSize, newStart, newWindow);
+        });
+    }
+
+    private boolean didWindowChange(List<T> list) {
+        for (int i = 0, n = this.window.size(); i < n; i++) {
+            if (!this.equals.areEqual(this.window.get(i), list.get(this.windowStart + i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void setWindow(int size, int windowStart, ObjectList<T> window) {
+        this.size = size;
+        this.windowStart = windowStart;
+        this.window.clear();
+        this.window.addAll(window);
+    }
+
+    @Override
+    public void readOnClient(int id, PacketBuffer buf) throws IOException {
+        if (id == 0) {
+            int newSize = buf.readVarInt();
+            int newStart = buf.readVarInt();
+            int length = buf.readVarInt();
+            // keep the entries the client already has, the server only sends new and changed entries
+            ObjectList<T> newWindow = ObjectList.create(length);
+            for (int i = newStart; i < newStart + length; i++) {
+                newWindow.add(getEntry(i));
+            }
+            for (int i = 0, n = buf.readVarInt(); i < n; i++) {
+                int index = buf.readVarInt();
+                newWindow.set(index, this.deserializer.deserialize(buf));
+            }
+            setWindow(newSize, newStart, newWindow);
+            for (Runnable listener : this.changeListeners) {
+                listener.run();
+            }
+        }
+    }
+
+    @Override
+    public void readOnServer(int id, PacketBuffer buf) {
+        if (id == 0) {
+            int start = Math.max(0, buf.readVarInt());
+            int end = buf.readVarInt();
+            this.visibleStart = start;
+            this.visibleEnd = Math.max(start, Math.min(end, start + MAX_WINDOW_SIZE));
+        }
+    }
+
+    /**
+     * Tells the server which entries are visible. Only sends a packet if the range changed.
+     *
+     * @param start first visible index (inclusive)
+     * @param end   last visible index (exclusive)
+     */
+    @SideOnly(Side.CLIENT)
+    public void setVisibleRange(int start, int end) {
+        start = Math.max(0, start);
+        end = Math.max(start, end);
+        if (start == this.visibleStart && end == this.visibleEnd) return;
+        this.visibleStart = start;
+        this.visibleEnd = end;
+        final int finalStart = start, finalEnd = end;
+        syncToServer(0, buffer -> {
+            buffer.writeVarInt(finalStart);
+            buffer.writeVarInt(finalEnd);
+        });
+    }
+
+    /**
+     * Calculates the visible range from a scroll area where every entry has the same size.
+     *
+     * @param scrollData scroll data along the list axis
+     * @param scrollArea scroll area of the list
+     * @param entrySize  size of one entry along the list axis
+     */
+    @SideOnly(Side.CLIENT)
+    public void setVisibleRange(ScrollData scrollData, ScrollArea scrollArea, int entrySize) {
+        int scroll = scrollData.getScroll();
+        int start = scroll / entrySize;
+        int end = (scroll + scrollData.getVisibleSize(scrollArea) + entrySize - 1) / entrySize;
+        setVisibleRange(start, end);
+    }
+
+    /**
+     * Sets how many entries before and after the visible range are synced, so small scroll movements don't show missing
+     * entries. Only used on server side.
+     *
+     * @param prefetch amount of entries
+     * @return this
+     */
+    public PagedListSyncHandler<T> prefetch(int prefetch) {
+        this.prefetch = Math.max(0, prefetch);
+        return this;
+    }
+
+    /**
+     * Adds a listener which is called on client side after new entries or a new size were received.
+     *
+     * @param listener change listener
+     */
+    public void addChangeListener(@NotNull Runnable listener) {
+        this.changeListeners.add(Objects.requireNonNull(listener));
+    }
+
+    public void removeChangeListener(Runnable listener) {
+        this.changeListeners.remove(listener);
+    }
+
+    /**
+     * @return the full size of the list
+     */
+    public int getSize() {
+        return this.size;
+    }
+
+    /**
+     * @param index index in the full list
+     * @return the entry or null if it's not synced yet
+     */
+    @Nullable
+    public T getEntry(int index) {
+        int i = index - this.windowStart;
+        return i >= 0 && i < this.window.size() ? this.window.get(i) : null;
+    }
+
+    public boolean isLoaded(int index) {
+        int i = index - this.windowStart;
+        return i >= 0 && i < this.window.size();
+    }
+}
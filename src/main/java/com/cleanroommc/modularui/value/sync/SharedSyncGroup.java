@@ -0,0 +1,113 @@
+package com.cleanroommc.modularui.value.sync;
+
+import net.minecraft.network.PacketBuffer;
+
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * All sync managers of GUIs with the same shared sync key, which means the same GUI is opened at the same position. The group
+ * exists as long as at least one of its sync managers is open. For each shared value sync handler key it holds a
+ * {@link SharedValue}. Only used on server side.
+ *
+ * @see GuiSyncManager#setSharedSyncKey(String)
+ */
+final class SharedSyncGroup {
+
+    private static final Map<String, SharedSyncGroup> GROUPS = new Object2ObjectOpenHashMap<>();
+
+    private final String key;
+    private final List<GuiSyncManager> syncManagers = new ArrayList<>();
+    private final Map<String, SharedValue> values = new Object2ObjectOpenHashMap<>();
+
+    private SharedSyncGroup(String key) {
+        this.key = key;
+    }
+
+    static SharedSyncGroup join(String key, GuiSyncManager syncManager) {
+        SharedSyncGroup group = GROUPS.computeIfAbsent(key, SharedSyncGroup::new);
+        group.syncManagers.add(syncManager);
+        return group;
+    }
+
+    /**
+     * Removes a sync manager from this group. When the last sync manager leaves, the group is removed, even if some sync
+     * handlers never left their value.
+     */
+    void leave(GuiSyncManager syncManager) {
+        if (this.syncManagers.remove(syncManager) && this.syncManagers.isEmpty()) {
+            GROUPS.remove(this.key);
+            this.values.clear();
+        }
+    }
+
+    /**
+     * @return the shared value of the sync handler or null if another type of sync handler uses the same key
+     */
+    SharedValue joinValue(ValueSyncHandler<?> syncHandler) {
+        SharedValue value = this.values.computeIfAbsent(syncHandler.getKey(), SharedValue::new);
+        if (!value.members.isEmpty() && value.members.get(0).getClass() != syncHandler.getClass()) {
+            // same key, but a different value
+            return null;
+        }
+        value.members.add(syncHandler);
+        return value;
+    }
+
+    /**
+     * All shared value sync handlers with the same key in a group. The first member is the leader. Only the leader checks
+     * for changes and encodes the value. The encoded packet is then sent to the client of every member right away, so no
+     * packet is kept between ticks.
+     */
+    final class SharedValue {
+
+        private final String key;
+        private final List<ValueSyncHandler<?>> members = new ArrayList<>();
+        private boolean forceSync = false;
+
+        private SharedValue(String key) {
+            this.key = key;
+        }
+
+        void leave(ValueSyncHandler<?> syncHandler) {
+            int index = this.members.indexOf(syncHandler);
+            if (index < 0) return;
+            this.members.remove(index);
+            if (this.members.isEmpty()) {
+                SharedSyncGroup.this.values.remove(this.key);
+            } else if (index == 0) {
+                // the cache of the new leader may be older than the last sent value
+                this.forceSync = true;
+            }
+        }
+
+        boolean isLeader(ValueSyncHandler<?> syncHandler) {
+            return !this.members.isEmpty() && this.members.get(0) == syncHandler;
+        }
+
+        /**
+         * Makes the leader send its full value next time it's checked. Called when a member received a value from its client.
+         */
+        void markForceSync() {
+            this.forceSync = true;
+        }
+
+        boolean consumeForceSync() {
+            boolean forceSync = this.forceSync;
+            this.forceSync = false;
+            return forceSync;
+        }
+
+        /**
+         * Sends the packet of the leader to the client of every other member. The buffer is not released.
+         */
+        void publish(PacketBuffer payload) {
+            for (int i = 1; i < this.members.size(); i++) {
+                this.members.get(i).receiveSharedPayload(payload);
+            }
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.cleanroommc.modularui.value.sync;
+
+import com.cleanroommc.modularui.ModularUI;
+
+import net.minecraft.network.PacketBuffer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Syncs all slots of a slot group with bulk sync enabled in a single packet. The packet contains the changed slots as list
+ * of index gaps, each followed by the change of the slot. Slots are added in the order they are initialised, which should
+ * be the same on server and client. The initial sync contains the amount of slots and a hash of their keys. If they don't
+ * match on client side, the slots of the group are synced one by one from then on.
+ *
+ * @see com.cleanroommc.modularui.widgets.slot.SlotGroup#setBulkSync(boolean)
+ */
+public class SlotGroupSyncHandler extends SyncHandler {
+
+    private final List<ItemSlotSH> slots = new ArrayList<>();
+    private int[] changes = new int[0];
+    // true if the slots are not the same on server and client, the slots sync themselves
+    private boolean detached = false;
+
+    SlotGroupSyncHandler() {
+        setSyncPriority(SyncPriority.HIGH);
+    }
+
+    /**
+     * @return false if the slot must sync itself
+     */
+    boolean addSlot(ItemSlotSH slot) {
+        if (this.detached) return false;
+        if (!this.slots.contains(slot)) {
+            this.slots.add(slot);
+        }
+        return true;
+    }
+
+    void removeSlot(ItemSlotSH slot) {
+        // keep indices stable, slots might only be removed on one side
+        int index = this.slots.indexOf(slot);
+        if (index >= 0) {
+            this.slots.set(index, null);
+        }
+    }
+
+    private int getSlotKeyHash() {
+        int hash = 1;
+        for (ItemSlotSH slot : this.slots) {
+            hash = 31 * hash + (slot == null ? 0 : slot.getKey().hashCode());
+        }
+        return hash;
+    }
+
+    /**
+     * Stops syncing the slots together. On server side every slot sends its full state.
+     */
+    private void detach() {
+        this.detached = true;
+        for (ItemSlotSH slot : this.slots) {
+            if (slot != null) {
+                slot.leaveSlotGroupSync();
+            }
+        }
+        this.slots.clear();
+    }
+
+    @Override
+    public void detectAndSendChanges(boolean init) {
+        if (this.detached) return;
+        int size = this.slots.size();
+        if (init) {
+            // sent before the changes, so the client can check the slots before it applies them
+            syncToClient(1, buffer -> {
+                buffer.writeVarInt(size);
+                buffer.writeInt(getSlotKeyHash());
+            });
+        }
+        if (this.changes.length < size) {
+            this.changes = new int[size];
+        }
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            ItemSlotSH slot = this.slots.get(i);
+            int change = slot == null ? 0 : slot.detectChange(init);
+            this.changes[i] = change;
+            if (change != 0) count++;
+        }
+        if (count == 0) return;
+        final int finalCount = count;
+        syncToClient(0, buffer -> {
+            buffer.writeVarInt(finalCount);
+            int last = -1;
+            for (int i = 0; i < size; i++) {
+                int change = this.changes[i];
+                if (change == 0) continue;
+                buffer.writeVarInt(i - last - 1);
+                buffer.writeByte(change);
+                this.slots.get(i).writeChange(buffer, change, init);
+                last = i;
+            }
+        });
+    }
+
+    @Override
+    public void readOnClient(int id, PacketBuffer buf) throws IOException {
+        if (id == 0) {
+            int index = -1;
+            for (int i = 0, n = buf.readVarInt(); i < n; i++) {
+                index += buf.readVarInt() + 1;
+                int change = buf.readByte();
+                ItemSlotSH slot = index < this.slots.size() ? this.slots.get(index) : null;
+                if (slot != null) {
+                    slot.readChange(buf, change);
+                } else {
+                    ItemSlotSH.skipChange(buf, change, getSyncManager());
+                }
+            }
+        } else if (id == 1) {
+            int size = buf.readVarInt();
+            int hash = buf.readInt();
+            if (this.detached || (size == this.slots.size() && hash == getSlotKeyHash())) return;
+            ModularUI.LOGGER.warn("Slots of bulk synced slot group '{}' don't match on server and client. Syncing slots one by one instead.", getKey());
+            // the slots are cleared, so the following changes are skipped
+            detach();
+            syncToServer(1);
+        }
+    }
+
+    @Override
+    public void readOnServer(int id, PacketBuffer buf) {
+        if (id == 1 && !this.detached) {
+            detach();
+        }
+    }
+}
@@ -75,6 +75,11 @@ public class StringSyncValue extends ValueSyncHandler<String> implements IString
         return false;
     }
 
+    @Override
+    protected boolean canBeShared() {
+        return true;
+    }
+
     @Override
     public void write(PacketBuffer buffer) {
         NetworkUtils.writeStringSafe(buffer, getValue(), Short.MAX_VALUE - 74);
@@ -84,4 +89,9 @@ public class StringSyncValue extends ValueSyncHandler<String> implements IString
     public void read(PacketBuffer buffer) {
         setValue(NetworkUtils.readStringSafe(buffer), true, false);
     }
+
+    @Override
+    protected boolean isCoalescedToServer(int id) {
+        return id == 0;
+    }
 }
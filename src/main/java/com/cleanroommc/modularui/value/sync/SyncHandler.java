@@ -1,15 +1,15 @@
 package com.cleanroommc.modularui.value.sync;
 
+import com.cleanroommc.modularui.ModularUIConfig;
 import com.cleanroommc.modularui.api.IPacketWriter;
 import com.cleanroommc.modularui.network.NetworkHandler;
+import com.cleanroommc.modularui.network.NetworkUtils;
 import com.cleanroommc.modularui.network.packets.PacketSyncHandler;
 
-import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.network.PacketBuffer;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
-import io.netty.buffer.Unpooled;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.MustBeInvokedByOverriders;
 import org.jetbrains.annotations.NotNull;
@@ -26,12 +26,28 @@ public abstract class SyncHandler {
 
     private GuiSyncManager syncManager;
     private String key;
+    private int networkHandle = -1;
+    private int registryIndex = -1;
+    private DirtyHandle dirtyHandle;
+    private boolean dirty = false;
+    private SyncPriority syncPriority = SyncPriority.NORMAL;
+    private int syncInterval = 1;
+    private int lastSyncTick = 0;
+    private int lastPayloadSize = 0;
+    private boolean deferred = false;
+    private SyncStats.Entry keyStats, classStats;
+    private int timingSampleCounter = 0;
 
     @ApiStatus.OverrideOnly
     @MustBeInvokedByOverriders
     public void init(String key, GuiSyncManager syncManager) {
         this.key = key;
         this.syncManager = syncManager;
+        if (SyncStats.isEnabled()) {
+            SyncStats stats = SyncStats.get(syncManager.isClient());
+            this.keyStats = stats.getKeyEntry(syncManager.getStatsKey(key));
+            this.classStats = stats.getClassEntry(getClass());
+        }
     }
 
     @ApiStatus.OverrideOnly
@@ -39,6 +55,9 @@ public abstract class SyncHandler {
     public void dispose() {
         this.key = null;
         this.syncManager = null;
+        this.networkHandle = -1;
+        this.keyStats = null;
+        this.classStats = null;
     }
 
     /**
@@ -48,14 +67,7 @@ public abstract class SyncHandler {
      * @param bufferConsumer the package builder
      */
     public final void syncToClient(int id, @NotNull IPacketWriter bufferConsumer) {
-        PacketBuffer buffer = new PacketBuffer(Unpooled.buffer());
-        buffer.writeVarInt(id);
-        try {
-            bufferConsumer.write(buffer);
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
-        sendToClient(buffer, this);
+        sendToClient(createPacket(id, bufferConsumer), this);
     }
 
     /**
@@ -66,14 +78,7 @@ public abstract class SyncHandler {
      */
     @SideOnly(Side.CLIENT)
     public final void syncToServer(int id, @NotNull IPacketWriter bufferConsumer) {
-        PacketBuffer buffer = new PacketBuffer(Unpooled.buffer());
-        buffer.writeVarInt(id);
-        try {
-            bufferConsumer.write(buffer);
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
-        sendToServer(buffer, this);
+        sendToServer(createPacket(id, bufferConsumer), this);
     }
 
     /**
@@ -83,18 +88,51 @@ public abstract class SyncHandler {
      * @param bufferConsumer the package builder
      */
     public final void sync(int id, @NotNull IPacketWriter bufferConsumer) {
-        PacketBuffer buffer = new PacketBuffer(Unpooled.buffer());
-        buffer.writeVarInt(id);
+        if (getSyncManager().isClient()) {
+            if (ModularUIConfig.coalesceClientSyncs && isCoalescedToServer(id)) {
+                getSyncManager().queueToServer(this, id, bufferConsumer);
+            } else {
+                sendToServer(createPacket(id, bufferConsumer), this);
+            }
+        } else {
+            sendToClient(createPacket(id, bufferConsumer), this);
+        }
+    }
+
+    /**
+     * Determines if packets with the given id which are sent with {@link #sync(int, IPacketWriter)} from client to server
+     * can be coalesced. Coalesced packets are sent at most once per tick and only the last packet of a tick is sent.
+     * This should only return true for packets which contain the full value. The built-in value sync handlers like
+     * {@link IntSyncValue} return true for id 0.
+     *
+     * @param id packet id
+     * @return true if packets with the id can be coalesced
+     */
+    protected boolean isCoalescedToServer(int id) {
+        return false;
+    }
+
+    final PacketBuffer createPacket(int id, IPacketWriter bufferConsumer) {
+        boolean sample = sampleTiming();
+        long start = sample ? System.nanoTime() : 0;
+        PacketBuffer buffer = NetworkUtils.allocateSyncBuffer();
+        buffer.touch(this.key);
         try {
+            buffer.writeVarInt(id);
             bufferConsumer.write(buffer);
+            if (sample) {
+                long time = System.nanoTime() - start;
+                this.keyStats.getEncodeTiming().add(time);
+                this.classStats.getEncodeTiming().add(time);
+            }
         } catch (IOException e) {
+            buffer.release();
             throw new RuntimeException(e);
+        } catch (RuntimeException e) {
+            buffer.release();
+            throw e;
         }
-        if (getSyncManager().isClient()) {
-            sendToServer(buffer, this);
-        } else {
-            sendToClient(buffer, this);
-        }
+        return buffer;
     }
 
     /**
@@ -157,6 +195,148 @@ public abstract class SyncHandler {
     public void detectAndSendChanges(boolean init) {
     }
 
+    /**
+     * Returns a handle to notify this sync handler about changes. After a handle was obtained, {@link #detectAndSendChanges(boolean)}
+     * is no longer called every tick, but only in ticks after the handle was marked dirty and in the first tick.
+     *
+     * @return the dirty handle of this sync handler
+     */
+    public final DirtyHandle getDirtyHandle() {
+        if (this.dirtyHandle == null) {
+            this.dirtyHandle = new DirtyHandle(this);
+        }
+        return this.dirtyHandle;
+    }
+
+    /**
+     * @return true if this sync handler is only checked for changes when it's marked dirty
+     */
+    public final boolean isObserved() {
+        return this.dirtyHandle != null;
+    }
+
+    final void markDirty() {
+        if (!this.dirty && isValid() && !this.syncManager.isClient()) {
+            this.dirty = true;
+            this.syncManager.markDirty(this);
+        }
+    }
+
+    final void clearDirty() {
+        this.dirty = false;
+    }
+
+    final void invalidateDirtyHandle() {
+        if (this.dirtyHandle != null) {
+            this.dirtyHandle.invalidate();
+        }
+    }
+
+    /**
+     * Sets the priority of this sync handler. Handlers with a lower priority are checked later and are deferred first when
+     * the sync byte budget of a tick is used up. Their latest value is still synced in a later tick.
+     *
+     * @param syncPriority priority of this sync handler
+     */
+    public void setSyncPriority(SyncPriority syncPriority) {
+        SyncPriority old = this.syncPriority;
+        this.syncPriority = Objects.requireNonNull(syncPriority);
+        if (old != syncPriority && isValid()) {
+            this.syncManager.onSyncPriorityChanged(this, old);
+        }
+    }
+
+    public SyncPriority getSyncPriority() {
+        return this.syncPriority;
+    }
+
+    /**
+     * Sets the minimum amount of ticks between two change checks of this sync handler. For example a progress bar with an
+     * interval of 4 is synced at most every 4 ticks. Changes in between are not lost, only the latest value is sent.
+     *
+     * @param syncInterval minimum ticks between syncs, at least 1
+     */
+    public void setSyncInterval(int syncInterval) {
+        if (syncInterval < 1) {
+            throw new IllegalArgumentException("Sync interval must be at least 1, but was " + syncInterval);
+        }
+        this.syncInterval = syncInterval;
+    }
+
+    public int getSyncInterval() {
+        return this.syncInterval;
+    }
+
+    final int getLastSyncTick() {
+        return this.lastSyncTick;
+    }
+
+    final void setLastSyncTick(int lastSyncTick) {
+        this.lastSyncTick = lastSyncTick;
+    }
+
+    /**
+     * @return the size in bytes of the last packet this sync handler sent to the client
+     */
+    final int getLastPayloadSize() {
+        return this.lastPayloadSize;
+    }
+
+    final void setLastPayloadSize(int lastPayloadSize) {
+        this.lastPayloadSize = lastPayloadSize;
+    }
+
+    /**
+     * @return true if this sync handler was deferred and was not checked since
+     */
+    final boolean isDeferred() {
+        return this.deferred;
+    }
+
+    final void setDeferred(boolean deferred) {
+        this.deferred = deferred;
+    }
+
+    /**
+     * Determines if the time of the current call should be measured. Only every n-th call of this sync handler is measured
+     * to keep the overhead of the statistics low.
+     */
+    final boolean sampleTiming() {
+        if (this.keyStats == null || !SyncStats.isEnabled()) return false;
+        int rate = ModularUIConfig.syncStatsTimingSampleRate;
+        if (rate <= 0 || ++this.timingSampleCounter < rate) return false;
+        this.timingSampleCounter = 0;
+        return true;
+    }
+
+    final void onPacketSent(int bytes) {
+        if (this.keyStats != null && SyncStats.isEnabled()) {
+            this.keyStats.onSent(bytes);
+            this.classStats.onSent(bytes);
+        }
+    }
+
+    final void onPacketReceived(int bytes) {
+        if (this.keyStats != null && SyncStats.isEnabled()) {
+            this.keyStats.onReceived(bytes);
+            this.classStats.onReceived(bytes);
+        }
+    }
+
+    /**
+     * @return the statistics of this sync handler's key or null if statistics are disabled
+     */
+    final SyncStats.Entry getKeyStats() {
+        return this.keyStats;
+    }
+
+    /**
+     * @return the statistics of this sync handler's class or null if statistics are disabled
+     */
+    final SyncStats.Entry getClassStats() {
+        return this.classStats;
+    }
+
     /**
      * @return the key that belongs to this sync handler
      */
@@ -164,6 +344,28 @@ public abstract class SyncHandler {
         return this.key;
     }
 
+    /**
+     * @return the id which is sent instead of the key or -1 if this sync handler is sent by its key
+     */
+    final int getNetworkHandle() {
+        return this.networkHandle;
+    }
+
+    final void setNetworkHandle(int networkHandle) {
+        this.networkHandle = networkHandle;
+    }
+
+    /**
+     * @return the index of this sync handler in the registry of its sync manager or -1 if it's not registered
+     */
+    final int getRegistryIndex() {
+        return this.registryIndex;
+    }
+
+    final void setRegistryIndex(int registryIndex) {
+        this.registryIndex = registryIndex;
+    }
+
     /**
      * @return is this sync handler has been initialised yet
      */
@@ -181,21 +383,41 @@ public abstract class SyncHandler {
         return this.syncManager;
     }
 
+    /**
+     * Sends a packet to the client. The buffer is released after it was sent.
+     *
+     * @param buffer      packet data
+     * @param syncHandler sending sync handler
+     */
     public static void sendToClient(PacketBuffer buffer, SyncHandler syncHandler) {
         Objects.requireNonNull(buffer);
         Objects.requireNonNull(syncHandler);
         if (!syncHandler.isValid()) {
             throw new IllegalStateException();
         }
-        NetworkHandler.sendToPlayer(new PacketSyncHandler(syncHandler.getKey(), buffer), (EntityPlayerMP) syncHandler.syncManager.getPlayer());
+        syncHandler.syncManager.sendToClient(syncHandler, buffer);
     }
 
+    /**
+     * Sends a packet to the server. The buffer is released after it was sent.
+     *
+     * @param buffer      packet data
+     * @param syncHandler sending sync handler
+     */
     public static void sendToServer(PacketBuffer buffer, SyncHandler syncHandler) {
         Objects.requireNonNull(buffer);
         Objects.requireNonNull(syncHandler);
         if (!syncHandler.isValid()) {
             throw new IllegalStateException();
         }
-        NetworkHandler.sendToServer(new PacketSyncHandler(syncHandler.getKey(), buffer));
+        syncHandler.onPacketSent(buffer.readableBytes());
+        PacketSyncHandler packet = new PacketSyncHandler(syncHandler.getKey(), syncHandler.getNetworkHandle(), buffer);
+        try {
+            // queued values must arrive before this packet
+            syncHandler.getSyncManager().flushToServer();
+            NetworkHandler.sendToServer(packet);
+        } finally {
+            packet.release();
+        }
     }
 }
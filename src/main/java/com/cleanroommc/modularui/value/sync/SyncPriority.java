@@ -0,0 +1,23 @@
+package com.cleanroommc.modularui.value.sync;
+
+/**
+ * Determines in which order sync handlers are checked for changes and if they can be deferred when the sync byte budget of
+ * a tick is used up. See {@link com.cleanroommc.modularui.ModularUIConfig#syncByteBudgetPerTick}.
+ */
+public enum SyncPriority {
+
+    /**
+     * Checked first and never deferred. Used for slots and other values the player directly interacts with.
+     */
+    HIGH,
+    /**
+     * Default priority.
+     */
+    NORMAL,
+    /**
+     * Checked last. Used for large or purely visual values.
+     */
+    LOW;
+
+    static final SyncPriority[] VALUES = values();
+}
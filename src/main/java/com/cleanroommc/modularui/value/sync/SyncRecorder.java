@@ -0,0 +1,109 @@
+package com.cleanroommc.modularui.value.sync;
+
+import com.cleanroommc.modularui.ModularUI;
+
+import net.minecraft.network.PacketBuffer;
+
+import io.netty.buffer.Unpooled;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Records every sync handler packet a client side {@link GuiSyncManager} receives to a file, so it can be replayed offline
+ * with {@link SyncReplay}.
+ * <p>
+ * The file is gzip compressed. It starts with the int {@link #MAGIC} and the var int {@link #VERSION}. Each record consists
+ * of the var int ticks since the last record, the var int index of the sync handler key, the key string if the index is new,
+ * the var int packet id and the payload with a var int length prefix.
+ */
+@ApiStatus.Internal
+public class SyncRecorder implements Closeable {
+
+    public static final int MAGIC = 0x4D554953; // MUIS
+    public static final int VERSION = 1;
+
+    private final File file;
+    private final OutputStream out;
+    private final PacketBuffer buffer = new PacketBuffer(Unpooled.buffer(256));
+    private final Object2IntOpenHashMap<String> keys = new Object2IntOpenHashMap<>();
+    private long lastTick = -1;
+    private boolean closed = false;
+
+    public SyncRecorder(File file) throws IOException {
+        File parent = file.getParentFile();
+        if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+            throw new IOException("Failed to create directory " + parent);
+        }
+        this.file = file;
+        this.out = new GZIPOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+        this.keys.defaultReturnValue(-1);
+        this.buffer.writeInt(MAGIC);
+        this.buffer.writeVarInt(VERSION);
+        flushBuffer();
+    }
+
+    /**
+     * Records a packet. The reader index of the payload is not modified.
+     *
+     * @param tick    current tick
+     * @param key     key of the receiving sync handler
+     * @param id      packet id
+     * @param payload packet data after the id
+     */
+    public void record(long tick, String key, int id, PacketBuffer payload) {
+        if (this.closed) return;
+        if (this.lastTick < 0) this.lastTick = tick;
+        this.buffer.writeVarInt((int) Math.max(0, tick - this.lastTick));
+        this.lastTick = tick;
+        int keyIndex = this.keys.getInt(key);
+        if (keyIndex < 0) {
+            keyIndex = this.keys.size();
+            this.keys.put(key, keyIndex);
+            this.buffer.writeVarInt(keyIndex);
+            byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+            this.buffer.writeVarInt(bytes.length);
+            this.buffer.writeBytes(bytes);
+        } else {
+            this.buffer.writeVarInt(keyIndex);
+        }
+        this.buffer.writeVarInt(id);
+        this.buffer.writeVarInt(payload.readableBytes());
+        this.buffer.writeBytes(payload, payload.readerIndex(), payload.readableBytes());
+        try {
+            flushBuffer();
+        } catch (IOException e) {
+            ModularUI.LOGGER.error("Failed to record sync packet to {}. Stopping recording.", this.file, e);
+            close();
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        this.buffer.readBytes(this.out, this.buffer.readableBytes());
+        this.buffer.clear();
+    }
+
+    public File getFile() {
+        return this.file;
+    }
+
+    @Override
+    public void close() {
+        if (this.closed) return;
+        this.closed = true;
+        this.buffer.release();
+        try {
+            this.out.close();
+        } catch (IOException e) {
+            ModularUI.LOGGER.error("Failed to close sync recording {}", this.file, e);
+        }
+    }
+}
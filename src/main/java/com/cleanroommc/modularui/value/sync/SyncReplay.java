@@ -0,0 +1,248 @@
+package com.cleanroommc.modularui.value.sync;
+
+import net.minecraft.network.PacketBuffer;
+
+import io.netty.buffer.Unpooled;
+import org.apache.commons.io.IOUtils;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * A sync traffic recording of {@link SyncRecorder}. The recording can be fed into a client side {@link GuiSyncManager}
+ * without a running game, f.e. to benchmark how expensive decoding is or to check that a sync optimisation still produces
+ * the same client state. The sync manager must contain the same sync handlers as the recorded GUI. A sync manager without
+ * a game can be created with {@link GuiSyncManager#createHeadlessClient(Consumer)}.
+ * <p>
+ * Item stacks are synced with their numeric id and fluids with their registry name. These can only be decoded with the
+ * registries of the recorded game, so recordings are replayed in game with {@code /modularui_sync replay}.
+ * {@link #main(String[])} only lists the recorded packets, since it runs without a game.
+ */
+public class SyncReplay {
+
+    private final List<Record> records;
+
+    private SyncReplay(List<Record> records) {
+        this.records = records;
+    }
+
+    /**
+     * Loads a recording.
+     *
+     * @param file recording file
+     * @return the loaded recording
+     * @throws IOException if the file can't be read or is not a valid recording
+     */
+    public static SyncReplay load(File file) throws IOException {
+        byte[] bytes;
+        try (InputStream in = new GZIPInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            bytes = IOUtils.toByteArray(in);
+        }
+        PacketBuffer buf = new PacketBuffer(Unpooled.wrappedBuffer(bytes));
+        try {
+            if (buf.readableBytes() < 4 || buf.readInt() != SyncRecorder.MAGIC) {
+                throw new IOException(file + " is not a sync recording");
+            }
+            int version = buf.readVarInt();
+            if (version != SyncRecorder.VERSION) {
+                throw new IOException("Unsupported sync recording version " + version);
+            }
+            List<String> keys = new ArrayList<>();
+            List<Record> records = new ArrayList<>();
+            int tick = 0;
+            while (buf.isReadable()) {
+                tick += buf.readVarInt();
+                int keyIndex = buf.readVarInt();
+                if (keyIndex == keys.size()) {
+                    keys.add(readString(buf));
+                } else if (keyIndex < 0 || keyIndex > keys.size()) {
+                    throw new IOException("Invalid key index " + keyIndex + " in sync recording");
+                }
+                int id = buf.readVarInt();
+                byte[] payload = new byte[buf.readVarInt()];
+                buf.readBytes(payload);
+                records.add(new Record(tick, keys.get(keyIndex), id, payload));
+            }
+            return new SyncReplay(records);
+        } catch (IndexOutOfBoundsException e) {
+            throw new IOException(file + " is truncated", e);
+        } finally {
+            buf.release();
+        }
+    }
+
+    /**
+     * Lists the recorded packets and bytes per sync handler without a running game. Argument: {@code <recording>}.
+     * <p>
+     * To decode the packets, use {@code /modularui_sync replay <recording> <sync handler class> [iterations]} in game. The
+     * sync handler class must implement {@code Consumer<GuiSyncManager>}, have a public no-args constructor and register
+     * the same sync handlers as the recorded GUI (see {@link GuiSyncManager#createHeadlessClient(Consumer)}).
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length != 1) {
+            System.out.println("Usage: SyncReplay <recording>");
+            System.out.println("Decoding needs the registries of the game, use '/modularui_sync replay' in game instead.");
+            return;
+        }
+        SyncReplay replay = load(new File(args[0]));
+        System.out.println("Loaded " + replay.records.size() + " packets over " + replay.getDuration() + " ticks");
+        Map<String, long[]> keys = new LinkedHashMap<>();
+        for (Record record : replay.records) {
+            long[] stats = keys.computeIfAbsent(record.key, k -> new long[2]);
+            stats[0]++;
+            stats[1] += record.payload.length;
+        }
+        keys.forEach((key, stats) -> System.out.println(key + ": " + stats[0] + " packets, " + stats[1] + " bytes"));
+    }
+
+    private static String readString(PacketBuffer buf) {
+        byte[] bytes = new byte[buf.readVarInt()];
+        buf.readBytes(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Feeds all recorded packets into the sync manager in recorded order.
+     *
+     * @param syncManager client side sync manager
+     * @return the replay result
+     * @throws IOException if a sync handler fails to read a packet
+     */
+    public Result replay(GuiSyncManager syncManager) throws IOException {
+        return replay(syncManager, null);
+    }
+
+    /**
+     * Feeds all recorded packets into the sync manager in recorded order.
+     *
+     * @param syncManager  client side sync manager
+     * @param tickListener called with the recorded tick before the first packet of each tick, f.e. to update widgets. Not
+     *                     included in the measured time. Can be null.
+     * @return the replay result
+     * @throws IOException if a sync handler fails to read a packet
+     */
+    public Result replay(GuiSyncManager syncManager, IntConsumer tickListener) throws IOException {
+        if (!syncManager.isClient()) {
+            throw new IllegalArgumentException("Sync recordings can only be replayed on a client side sync manager!");
+        }
+        Result result = new Result();
+        int lastTick = -1;
+        for (Record record : this.records) {
+            if (tickListener != null && record.tick != lastTick) {
+                tickListener.accept(record.tick);
+            }
+            lastTick = record.tick;
+            if (syncManager.getSyncHandler(record.key) == null) {
+                result.missed++;
+                continue;
+            }
+            PacketBuffer buf = new PacketBuffer(Unpooled.wrappedBuffer(record.payload));
+            try {
+                long start = System.nanoTime();
+                syncManager.receiveWidgetUpdate(record.key, record.id, buf);
+                result.nanos += System.nanoTime() - start;
+            } finally {
+                buf.release();
+            }
+            result.packets++;
+            result.bytes += record.payload.length;
+        }
+        return result;
+    }
+
+    public List<Record> getRecords() {
+        return Collections.unmodifiableList(this.records);
+    }
+
+    /**
+     * @return the amount of ticks between the first and the last packet
+     */
+    public int getDuration() {
+        return this.records.isEmpty() ? 0 : this.records.get(this.records.size() - 1).tick;
+    }
+
+    public static class Record {
+
+        private final int tick;
+        private final String key;
+        private final int id;
+        private final byte[] payload;
+
+        private Record(int tick, String key, int id, byte[] payload) {
+            this.tick = tick;
+            this.key = key;
+            this.id = id;
+            this.payload = payload;
+        }
+
+        /**
+         * @return ticks since the first recorded packet
+         */
+        public int getTick() {
+            return this.tick;
+        }
+
+        public String getKey() {
+            return this.key;
+        }
+
+        public int getId() {
+            return this.id;
+        }
+
+        public int getSize() {
+            return this.payload.length;
+        }
+    }
+
+    public static class Result {
+
+        private int packets = 0;
+        private long bytes = 0;
+        private int missed = 0;
+        private long nanos = 0;
+
+        /**
+         * @return amount of replayed packets
+         */
+        public int getPackets() {
+            return this.packets;
+        }
+
+        public long getBytes() {
+            return this.bytes;
+        }
+
+        /**
+         * @return amount of packets which were skipped because the sync manager doesn't have their sync handler
+         */
+        public int getMissed() {
+            return this.missed;
+        }
+
+        /**
+         * @return total time all sync handlers took to read the packets
+         */
+        public long getNanos() {
+            return this.nanos;
+        }
+
+        @Override
+        public String toString() {
+            return "Replayed " + this.packets + " packets (" + this.bytes + " bytes, " + this.missed + " missed) in " +
+                    String.format("%.3fms", this.nanos / 1_000_000.0);
+        }
+    }
+}
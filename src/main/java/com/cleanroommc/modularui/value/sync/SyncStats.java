@@ -0,0 +1,201 @@
+package com.cleanroommc.modularui.value.sync;
+
+import com.cleanroommc.modularui.ModularUIConfig;
+
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts sync traffic per sync handler key and per sync handler class. Keys are prefixed with the name of their GUI (see
+ * {@link GuiSyncManager#getStatsKey(String)}). Packet and byte counts are always exact, timings are
+ * only measured for every n-th call of a sync handler (see {@link ModularUIConfig#syncStatsTimingSampleRate}).
+ * Client and server have separate statistics. All counters are thread safe.
+ */
+public final class SyncStats {
+
+    private static final SyncStats CLIENT = new SyncStats();
+    private static final SyncStats SERVER = new SyncStats();
+
+    private final Map<String, Entry> byKey = new ConcurrentHashMap<>();
+    private final Map<String, Entry> byClass = new ConcurrentHashMap<>();
+
+    private SyncStats() {
+    }
+
+    public static SyncStats get(boolean client) {
+        return client ? CLIENT : SERVER;
+    }
+
+    /**
+     * @return true if sync traffic is currently counted
+     */
+    public static boolean isEnabled() {
+        return ModularUIConfig.syncStatistics;
+    }
+
+    Entry getKeyEntry(String key) {
+        return this.byKey.computeIfAbsent(key, Entry::new);
+    }
+
+    Entry getClassEntry(Class<?> clazz) {
+        return this.byClass.computeIfAbsent(clazz.getName(), Entry::new);
+    }
+
+    /**
+     * @return the statistics of all sync handler keys, sorted by the total amount of bytes
+     */
+    public List<Entry> getKeyEntries() {
+        return sorted(this.byKey);
+    }
+
+    /**
+     * @return the statistics of all sync handler classes, sorted by the total amount of bytes
+     */
+    public List<Entry> getClassEntries() {
+        return sorted(this.byClass);
+    }
+
+    private static List<Entry> sorted(Map<String, Entry> map) {
+        List<Entry> entries = new ArrayList<>(map.values());
+        entries.sort(Comparator.comparingLong(Entry::getTotalBytes).reversed());
+        return entries;
+    }
+
+    /**
+     * Removes all counted statistics. Sync handlers which are currently open keep counting into their old entries until they
+     * are initialised again.
+     */
+    public void reset() {
+        this.byKey.clear();
+        this.byClass.clear();
+    }
+
+    /**
+     * Writes all statistics as CSV. Times are the average of all measured calls in nanoseconds.
+     *
+     * @param writer target
+     */
+    public void writeCsv(Writer writer) {
+        PrintWriter out = new PrintWriter(writer);
+        out.println("type,name,packets_sent,bytes_sent,packets_received,bytes_received,detect_ns,encode_ns,decode_ns");
+        for (Entry entry : getClassEntries()) {
+            writeCsvLine(out, "class", entry);
+        }
+        for (Entry entry : getKeyEntries()) {
+            writeCsvLine(out, "key", entry);
+        }
+        out.flush();
+    }
+
+    private static void writeCsvLine(PrintWriter out, String type, Entry entry) {
+        out.println(type + ',' + escapeCsv(entry.getName()) + ',' +
+                entry.getPacketsSent() + ',' + entry.getBytesSent() + ',' +
+                entry.getPacketsReceived() + ',' + entry.getBytesReceived() + ',' +
+                entry.detect.getAverageNanos() + ',' + entry.encode.getAverageNanos() + ',' + entry.decode.getAverageNanos());
+    }
+
+    private static String escapeCsv(String s) {
+        if (s.indexOf(',') < 0 && s.indexOf('"') < 0) return s;
+        return '"' + s.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Statistics of a single sync handler key or class.
+     */
+    public static final class Entry {
+
+        private final String name;
+        private final LongAdder packetsSent = new LongAdder();
+        private final LongAdder bytesSent = new LongAdder();
+        private final LongAdder packetsReceived = new LongAdder();
+        private final LongAdder bytesReceived = new LongAdder();
+        private final Timing detect = new Timing();
+        private final Timing encode = new Timing();
+        private final Timing decode = new Timing();
+
+        private Entry(String name) {
+            this.name = name;
+        }
+
+        void onSent(int bytes) {
+            this.packetsSent.increment();
+            this.bytesSent.add(bytes);
+        }
+
+        void onReceived(int bytes) {
+            this.packetsReceived.increment();
+            this.bytesReceived.add(bytes);
+        }
+
+        public String getName() {
+            return this.name;
+        }
+
+        public long getPacketsSent() {
+            return this.packetsSent.sum();
+        }
+
+        public long getBytesSent() {
+            return this.bytesSent.sum();
+        }
+
+        public long getPacketsReceived() {
+            return this.packetsReceived.sum();
+        }
+
+        public long getBytesReceived() {
+            return this.bytesReceived.sum();
+        }
+
+        public long getTotalBytes() {
+            return getBytesSent() + getBytesReceived();
+        }
+
+        /**
+         * @return average time of {@link SyncHandler#detectAndSendChanges(boolean)} including encoding
+         */
+        public Timing getDetectTiming() {
+            return this.detect;
+        }
+
+        public Timing getEncodeTiming() {
+            return this.encode;
+        }
+
+        public Timing getDecodeTiming() {
+            return this.decode;
+        }
+    }
+
+    /**
+     * Sum of measured times and the amount of measurements.
+     */
+    public static final class Timing {
+
+        private final LongAdder nanos = new LongAdder();
+        private final LongAdder samples = new LongAdder();
+
+        void add(long nanos) {
+            this.nanos.add(nanos);
+            this.samples.increment();
+        }
+
+        public long getSamples() {
+            return this.samples.sum();
+        }
+
+        /**
+         * @return the average measured time in nanoseconds or 0 if nothing was measured yet
+         */
+        public long getAverageNanos() {
+            long samples = this.samples.sum();
+            return samples == 0 ? 0 : this.nanos.sum() / samples;
+        }
+    }
+}
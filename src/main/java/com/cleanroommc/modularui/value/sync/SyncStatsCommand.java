@@ -0,0 +1,125 @@
+package com.cleanroommc.modularui.value.sync;
+
+import net.minecraft.command.CommandBase;
+import net.minecraft.command.CommandException;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.command.WrongUsageException;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.text.TextComponentString;
+import net.minecraft.util.text.TextFormatting;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Prints, resets or dumps the server side {@link SyncStats}. Also replays {@link SyncReplay sync recordings}, since item
+ * stacks and fluids can only be decoded with loaded registries.
+ */
+public class SyncStatsCommand extends CommandBase {
+
+    private static final int PRINTED_ENTRIES = 10;
+
+    @Override
+    public @NotNull String getName() {
+        return "modularui_sync";
+    }
+
+    @Override
+    public @NotNull String getUsage(@NotNull ICommandSender sender) {
+        return "/modularui_sync <keys|classes|reset|dump|replay <recording> <sync handler class> [iterations]>";
+    }
+
+    @Override
+    public void execute(@NotNull MinecraftServer server, @NotNull ICommandSender sender, String @NotNull [] args) throws CommandException {
+        SyncStats stats = SyncStats.get(false);
+        String action = args.length == 0 ? "keys" : args[0];
+        if ("keys".equals(action)) {
+            print(sender, "Sync handler keys", stats.getKeyEntries());
+        } else if ("classes".equals(action)) {
+            print(sender, "Sync handler classes", stats.getClassEntries());
+        } else if ("reset".equals(action)) {
+            stats.reset();
+            sender.sendMessage(new TextComponentString(TextFormatting.GREEN + "Reset sync statistics"));
+        } else if ("dump".equals(action)) {
+            File file = new File(server.getDataDirectory(), "modularui_sync_stats.csv");
+            try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+                stats.writeCsv(writer);
+            } catch (IOException e) {
+                throw new CommandException("Failed to write sync statistics: " + e.getMessage());
+            }
+            sender.sendMessage(new TextComponentString(TextFormatting.GREEN + "Wrote sync statistics to " + file.getAbsolutePath()));
+        } else if ("replay".equals(action) && args.length >= 3) {
+            replay(server, sender, args);
+        } else {
+            throw new WrongUsageException(getUsage(sender));
+        }
+    }
+
+    /**
+     * Replays a recording from the sync recordings directory. The recording must be from the same modpack, since item
+     * ids are not the same in other instances.
+     */
+    @SuppressWarnings("unchecked")
+    private static void replay(MinecraftServer server, ICommandSender sender, String[] args) throws CommandException {
+        File file = new File(server.getDataDirectory(), "modularui/sync_recordings/" + args[1]);
+        int iterations = args.length > 3 ? parseInt(args[3], 1) : 1;
+        Consumer<GuiSyncManager> syncHandlers;
+        try {
+            syncHandlers = (Consumer<GuiSyncManager>) Class.forName(args[2]).getConstructor().newInstance();
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            throw new CommandException("Can't create sync handler registration " + args[2] + ": " + e);
+        }
+        try {
+            SyncReplay replay = SyncReplay.load(file);
+            for (int i = 0; i < iterations; i++) {
+                // every iteration starts with new sync handlers, so they all decode the same changes
+                SyncReplay.Result result = replay.replay(GuiSyncManager.createHeadlessClient(syncHandlers));
+                sender.sendMessage(new TextComponentString(TextFormatting.GREEN + result.toString()));
+            }
+        } catch (IOException e) {
+            throw new CommandException("Failed to replay " + file.getName() + ": " + e.getMessage());
+        }
+    }
+
+    private static void print(ICommandSender sender, String title, List<SyncStats.Entry> entries) {
+        if (!SyncStats.isEnabled()) {
+            sender.sendMessage(new TextComponentString(TextFormatting.RED + "Sync statistics are disabled in the config"));
+        }
+        sender.sendMessage(new TextComponentString(TextFormatting.GOLD + title + " (sent, received, detect, encode, decode):"));
+        for (int i = 0, n = Math.min(PRINTED_ENTRIES, entries.size()); i < n; i++) {
+            SyncStats.Entry entry = entries.get(i);
+            sender.sendMessage(new TextComponentString(TextFormatting.AQUA + entry.getName() + TextFormatting.RESET + ": " +
+                    entry.getPacketsSent() + "p/" + entry.getBytesSent() + "B, " +
+                    entry.getPacketsReceived() + "p/" + entry.getBytesReceived() + "B, " +
+                    formatNanos(entry.getDetectTiming()) + ", " +
+                    formatNanos(entry.getEncodeTiming()) + ", " +
+                    formatNanos(entry.getDecodeTiming())));
+        }
+    }
+
+    static String formatNanos(SyncStats.Timing timing) {
+        return timing.getSamples() == 0 ? "-" : String.format("%.1fus", timing.getAverageNanos() / 1000.0);
+    }
+
+    @Override
+    public @NotNull List<String> getTabCompletions(@NotNull MinecraftServer server, @NotNull ICommandSender sender, String @NotNull [] args, @Nullable BlockPos targetPos) {
+        if (args.length == 1) {
+            return getListOfStringsMatchingLastWord(args, "keys", "classes", "reset", "dump", "replay");
+        }
+        if (args.length == 2 && "replay".equals(args[0])) {
+            String[] recordings = new File(server.getDataDirectory(), "modularui/sync_recordings").list();
+            return recordings == null ? Collections.emptyList() : getListOfStringsMatchingLastWord(args, recordings);
+        }
+        return Collections.emptyList();
+    }
+}
@@ -9,6 +9,31 @@ import java.io.IOException;
 public abstract class ValueSyncHandler<T> extends SyncHandler implements IValueSyncHandler<T> {
 
     private Runnable changeListener;
+    private boolean shared = false;
+    private SharedSyncGroup.SharedValue sharedValue;
+
+    @Override
+    public void init(String key, GuiSyncManager syncManager) {
+        super.init(key, syncManager);
+        leaveSharedGroup();
+        SharedSyncGroup group = syncManager.getSharedSyncGroup();
+        if (this.shared && group != null) {
+            this.sharedValue = group.joinValue(this);
+        }
+    }
+
+    @Override
+    public void dispose() {
+        leaveSharedGroup();
+        super.dispose();
+    }
+
+    final void leaveSharedGroup() {
+        if (this.sharedValue != null) {
+            this.sharedValue.leave(this);
+            this.sharedValue = null;
+        }
+    }
 
     @Override
     public void readOnClient(int id, PacketBuffer buf) throws IOException {
@@ -20,15 +45,72 @@ public abstract class ValueSyncHandler<T> extends SyncHandler implements IValueS
     public void readOnServer(int id, PacketBuffer buf) throws IOException {
         read(buf);
         onValueChanged();
+        if (this.sharedValue != null) {
+            // the other viewers need to know about the new value
+            this.sharedValue.markForceSync();
+        }
     }
 
     @Override
     public void detectAndSendChanges(boolean init) {
-        if (updateCacheFromSource(init)) {
+        if (!init && this.sharedValue != null) {
+            detectAndSendSharedChanges();
+        } else if (updateCacheFromSource(init)) {
             syncToClient(0, this::write);
         }
     }
 
+    private void detectAndSendSharedChanges() {
+        SharedSyncGroup.SharedValue value = this.sharedValue;
+        if (value.isLeader(this) && updateCacheFromSource(value.consumeForceSync())) {
+            PacketBuffer buffer = createPacket(0, this::write);
+            value.publish(buffer);
+            sendToClient(buffer, this);
+        }
+    }
+
+    /**
+     * Sends the packet of the leader instead of encoding the value again. The buffer is not released.
+     */
+    final void receiveSharedPayload(PacketBuffer payload) {
+        if (!isValid()) return;
+        // the cache is updated from the own source, so it never references the value of the leader
+        updateCacheFromSource(true);
+        sendToClient(new PacketBuffer(payload.retainedDuplicate()), this);
+    }
+
+    /**
+     * Sets if this value is shared between all players which have the same GUI at the same position open. Shared values are
+     * only checked and encoded once per tick by one of the players and the packet is sent to all of them. This must only be
+     * used for values which don't depend on the player and which are always synced fully. Only works on GUIs opened with
+     * {@link com.cleanroommc.modularui.factory.PosGuiData}.
+     *
+     * @param shared if this value is shared
+     * @throws UnsupportedOperationException if this sync handler can't be shared
+     * @see #canBeShared()
+     */
+    public void setShared(boolean shared) {
+        if (shared && !canBeShared()) {
+            throw new UnsupportedOperationException(getClass().getSimpleName() + " can't be shared between GUIs!");
+        }
+        this.shared = shared;
+    }
+
+    /**
+     * Determines if this sync handler can be shared. The packet of the leader is sent to every member unchanged, so only sync
+     * handlers which always send their full value with id 0 and which don't write data of the {@link InternTable InternTables}
+     * of their sync manager can be shared. Sync handlers which fulfill this must override this and return true.
+     *
+     * @return true if this sync handler can be shared
+     */
+    protected boolean canBeShared() {
+        return false;
+    }
+
+    public boolean isShared() {
+        return this.shared;
+    }
+
     protected void onValueChanged() {
         if (this.changeListener != null) {
             this.changeListener.run();
@@ -39,6 +39,7 @@ public class ParentWidget<W extends ParentWidget<W>> extends Widget<W> {
             index = getChildren().size() + index + 1;
         }
         this.children.add(index, child);
+        flex().invalidateLayoutCache();
         if (isValid()) {
             child.initialise(this);
         }
@@ -49,6 +50,7 @@ public class ParentWidget<W extends ParentWidget<W>> extends Widget<W> {
     public boolean remove(IWidget child) {
         if (this.children.remove(child)) {
             child.dispose();
+            flex().invalidateLayoutCache();
             onChildRemove(child);
             return true;
         }
@@ -61,6 +63,7 @@ public class ParentWidget<W extends ParentWidget<W>> extends Widget<W> {
         }
         IWidget child = this.children.remove(index);
         child.dispose();
+        flex().invalidateLayoutCache();
         onChildRemove(child);
         return true;
     }
@@ -420,6 +420,14 @@ public class Widget<W extends Widget<W>> implements IWidget, IPositioned<W>, ITo
         return this.value;
     }
 
+    /**
+     * @return the key of the sync handler this widget obtains on init or null
+     */
+    @Nullable
+    public String getSyncKey() {
+        return this.syncKey;
+    }
+
     @Override
     public W syncHandler(String name, int id) {
         this.syncKey = GuiSyncManager.makeSyncKey(name, id);
@@ -14,6 +14,7 @@ import com.cleanroommc.modularui.theme.WidgetTheme;
 import com.cleanroommc.modularui.utils.ObjectList;
 import com.cleanroommc.modularui.value.sync.GuiSyncManager;
 import com.cleanroommc.modularui.widget.sizer.Area;
+import com.cleanroommc.modularui.widget.sizer.Flex;
 import com.cleanroommc.modularui.widgets.layout.IExpander;
 
 import net.minecraft.client.renderer.GlStateManager;
@@ -42,7 +43,7 @@ public class WidgetTree {
     public static List<IWidget> getAllChildrenByLayer(IWidget parent, boolean includeSelf) {
         List<IWidget> children = new ArrayList<>();
         if (includeSelf) children.add(parent);
-        ObjectList<IWidget> parents = ObjectList.create();
+        ObjectList<IWidget> parents = ObjectList.deque();
         parents.add(parent);
         while (!parents.isEmpty()) {
             for (IWidget child : parents.removeFirst().getChildren()) {
@@ -61,7 +62,7 @@ public class WidgetTree {
 
     public static boolean foreachChildBFS(IWidget parent, Predicate<IWidget> consumer, boolean includeSelf) {
         if (includeSelf && !consumer.test(parent)) return false;
-        ObjectList<IWidget> parents = ObjectList.create();
+        ObjectList<IWidget> parents = ObjectList.deque();
         parents.add(parent);
         while (!parents.isEmpty()) {
             for (IWidget child : parents.removeFirst().getChildren()) {
@@ -76,7 +77,7 @@ public class WidgetTree {
 
     public static boolean foreachChildByLayer2(IWidget parent, Predicate<IWidget> consumer, boolean includeSelf) {
         if (includeSelf && !consumer.test(parent)) return false;
-        ObjectList<IWidget> parents = ObjectList.create();
+        ObjectList<IWidget> parents = ObjectList.deque();
         parents.add(parent);
         while (!parents.isEmpty()) {
             for (IWidget child : parents.removeFirst().getChildren()) {
@@ -219,8 +220,45 @@ public class WidgetTree {
         }, true);
     }
 
+    /**
+     * Marks a widget as needing a new layout. Instead of resizing immediately like {@link #resize(IWidget)}, the layout
+     * runs once before the next frame is drawn. Multiple calls in one frame only lay out the widgets once.
+     *
+     * @param widget widget which changed
+     * @see #findResizeRoot(IWidget)
+     * @see ModularPanel#resizeScheduled()
+     */
+    public static void scheduleResize(IWidget widget) {
+        if (widget.isValid()) {
+            // the widget changed, so it and its parents can't reuse their last layout
+            if (widget.getFlex() != null) widget.getFlex().invalidateLayoutCache();
+            widget.getPanel().scheduleResize(findResizeRoot(widget));
+        }
+    }
+
+    /**
+     * Finds the widget which needs to be laid out when the given widget changed. The layout goes up the tree while the size of
+     * the widget depends on its children, since its size might change. If the parent of the changed widget is a layout
+     * widget, the parent is laid out as well, since it positions the widget. The layout stops at the first widget whose size
+     * doesn't depend on its children, since a layout widget with a fixed size doesn't move its siblings.
+     *
+     * @param widget widget which changed
+     * @return the top most widget which needs a new layout
+     */
+    public static IWidget findResizeRoot(IWidget widget) {
+        IWidget root = widget;
+        while (!(root instanceof ModularPanel) && root.hasParent()) {
+            Flex flex = root.getFlex();
+            boolean sizeDependsOnChildren = flex == null || flex.xAxisDependsOnChildren() || flex.yAxisDependsOnChildren();
+            if (!sizeDependsOnChildren && (root != widget || !(root.getParent() instanceof ILayoutWidget))) {
+                break;
+            }
+            root = root.getParent();
+        }
+        return root;
+    }
+
     public static void resize(IWidget parent) {
-        // TODO check if widget has a parent which depends on its children
         // resize each widget and calculate their relative pos
         if (!resizeWidget(parent, true) && !resizeWidget(parent, false)) {
             throw new IllegalStateException("Failed to resize widgets");
@@ -259,6 +297,8 @@ public class WidgetTree {
             anotherResize = new ArrayList<>();
             for (IWidget child : widget.getChildren()) {
                 if (init && expandAxis != null) child.flex().checkExpanded(expandAxis);
+                // the child and all its children keep their last layout if nothing changed
+                if (init && reuseLayout(widget, child)) continue;
                 if (!resizeWidget(child, init)) {
                     anotherResize.add(child);
                 }
@@ -281,13 +321,23 @@ public class WidgetTree {
         }
 
         // now fully resize all children which needs it
-        if (!anotherResize.isEmpty()) {
+        boolean childrenResized = !anotherResize.isEmpty();
+        if (childrenResized) {
             anotherResize.removeIf(iWidget -> resizeWidget(iWidget, false));
         }
 
         if (result && !alreadyCalculated) widget.onResized();
 
-        return result && anotherResize.isEmpty();
+        boolean fullyResized = result && anotherResize.isEmpty();
+        if (fullyResized && (!alreadyCalculated || childrenResized) && resizer instanceof Flex flex && flex == widget.getFlex()) {
+            flex.storeLayout();
+        }
+        return fullyResized;
+    }
+
+    private static boolean reuseLayout(IWidget parent, IWidget child) {
+        Flex flex = child.getFlex();
+        return flex != null && child.resizer() == flex && flex.reuseLayout(parent.resizer());
     }
 
     public static void applyPos(IWidget parent) {
@@ -337,6 +387,10 @@ public class WidgetTree {
         AtomicInteger id = new AtomicInteger(0);
         String syncKey = GuiSyncManager.AUTO_SYNC_PREFIX + panel.getName();
         foreachChildBFS(panel, widget -> {
+            if (widget instanceof Widget<?> w && w.getSyncKey() != null) {
+                // sync handlers which are used by key might be created lazily
+                syncManager.requireSyncHandler(w.getSyncKey());
+            }
             if (widget instanceof ISynced<?> synced) {
                 if (synced.isSynced() && !syncManager.hasSyncHandler(synced.getSyncHandler())) {
                     syncManager.syncValue(syncKey, id.getAndIncrement(), synced.getSyncHandler());
@@ -111,6 +111,22 @@ public class DimensionSizer {
                 (this.size != null && this.size.isRelative());
     }
 
+    /**
+     * @return true if the size is neither set nor calculated from start and end, which means the default size is used
+     */
+    public boolean usesDefaultSize() {
+        return this.size == null && (this.start == null || this.end == null);
+    }
+
+    /**
+     * @return true if any unit value is calculated by a supplier
+     */
+    public boolean hasDynamicUnit() {
+        return (this.start != null && this.start.isDynamic()) ||
+                (this.end != null && this.end.isDynamic()) ||
+                (this.size != null && this.size.isDynamic());
+    }
+
     public void setResized(boolean all) {
         setResized(all, all);
     }
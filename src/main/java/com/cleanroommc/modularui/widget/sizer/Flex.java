@@ -1,6 +1,7 @@
 package com.cleanroommc.modularui.widget.sizer;
 
 import com.cleanroommc.modularui.GuiError;
+import com.cleanroommc.modularui.ModularUIConfig;
 import com.cleanroommc.modularui.api.GuiAxis;
 import com.cleanroommc.modularui.api.layout.ILayoutWidget;
 import com.cleanroommc.modularui.api.layout.IResizeable;
@@ -28,6 +29,7 @@ public class Flex implements IResizeable, IPositioned<Flex> {
     private final IGuiElement parent;
     private Area relativeTo;
     private boolean relativeToParent = true;
+    private final LayoutCache layoutCache = new LayoutCache();
 
     public Flex(IGuiElement parent) {
         this.parent = parent;
@@ -36,11 +38,13 @@ public class Flex implements IResizeable, IPositioned<Flex> {
     public void reset() {
         this.x.reset();
         this.y.reset();
+        invalidateLayoutCache();
     }
 
     public void resetPosition() {
         this.x.resetPosition();
         this.y.resetPosition();
+        invalidateLayoutCache();
     }
 
     public Flex startDefaultMode() {
@@ -87,43 +91,51 @@ public class Flex implements IResizeable, IPositioned<Flex> {
 
     public Flex coverChildrenWidth() {
         this.x.setCoverChildren(true);
+        invalidateLayoutCache();
         return this;
     }
 
     public Flex coverChildrenHeight() {
         this.y.setCoverChildren(true);
+        invalidateLayoutCache();
         return this;
     }
 
     public Flex cancelMovementX() {
         this.x.setCancelAutoMovement(true);
+        invalidateLayoutCache();
         return this;
     }
 
     public Flex cancelMovementY() {
         this.y.setCancelAutoMovement(true);
+        invalidateLayoutCache();
         return this;
     }
 
     public Flex expanded() {
         this.expanded = true;
+        invalidateLayoutCache();
         return this;
     }
 
     public Flex relative(Area guiElement) {
         this.relativeTo = guiElement;
         this.relativeToParent = false;
+        invalidateLayoutCache();
         return this;
     }
 
     public Flex relativeToScreen() {
         this.relativeTo = null;
         this.relativeToParent = false;
+        invalidateLayoutCache();
         return this;
     }
 
     public Flex relativeToParent() {
         this.relativeToParent = true;
+        invalidateLayoutCache();
         return this;
     }
 
@@ -173,6 +185,7 @@ public class Flex implements IResizeable, IPositioned<Flex> {
         u.setOffset(offset);
         u.setAnchor(anchor);
         u.setAutoAnchor(autoAnchor);
+        invalidateLayoutCache();
         return this;
     }
 
@@ -182,6 +195,7 @@ public class Flex implements IResizeable, IPositioned<Flex> {
         u.setOffset(offset);
         u.setAnchor(anchor);
         u.setAutoAnchor(autoAnchor);
+        invalidateLayoutCache();
         return this;
     }
 
@@ -204,36 +218,42 @@ public class Flex implements IResizeable, IPositioned<Flex> {
     private Flex unitSize(Unit u, float val, Unit.Measure measure) {
         u.setValue(val);
         u.setMeasure(measure);
+        invalidateLayoutCache();
         return this;
     }
 
     private Flex unitSize(Unit u, DoubleSupplier val, Unit.Measure measure) {
         u.setValue(val);
         u.setMeasure(measure);
+        invalidateLayoutCache();
         return this;
     }
 
     public Flex anchorLeft(float val) {
         getLeft().setAnchor(val);
         getLeft().setAutoAnchor(false);
+        invalidateLayoutCache();
         return this;
     }
 
     public Flex anchorRight(float val) {
         getRight().setAnchor(1 - val);
         getRight().setAutoAnchor(false);
+        invalidateLayoutCache();
         return this;
     }
 
     public Flex anchorTop(float val) {
         getTop().setAnchor(val);
         getTop().setAutoAnchor(false);
+        invalidateLayoutCache();
         return this;
     }
 
     public Flex anchorBottom(float val) {
         getBottom().setAnchor(1 - val);
         getBottom().setAutoAnchor(false);
+        invalidateLayoutCache();
         return this;
     }
 
@@ -299,6 +319,7 @@ public class Flex implements IResizeable, IPositioned<Flex> {
 
     @Override
     public void initResizing() {
+        this.layoutCache.invalidate();
         setMarginPaddingApplied(false);
         setResized(false);
     }
@@ -459,6 +480,90 @@ public class Flex implements IResizeable, IPositioned<Flex> {
         }
     }
 
+    /**
+     * Invalidates the layout cache of this widget and all its parents. Changes to this flex, to margin and padding, to the
+     * parent size and to the children of a {@link com.cleanroommc.modularui.widget.ParentWidget ParentWidget} invalidate the
+     * cache automatically. A content measured default size like the text of a
+     * {@link com.cleanroommc.modularui.widgets.TextWidget TextWidget} is checked on every layout.
+     * <p>
+     * Code which changes any other input of the layout outside of this flex must call this, otherwise the widget keeps its
+     * old size and position. For example a setter of a {@link com.cleanroommc.modularui.api.layout.ILayoutWidget ILayoutWidget}
+     * which changes how {@link com.cleanroommc.modularui.api.layout.ILayoutWidget#layoutWidgets() layoutWidgets()} places
+     * the children, like {@link com.cleanroommc.modularui.widgets.layout.Row#mainAxisAlignment(com.cleanroommc.modularui.utils.Alignment.MainAxis) Row#mainAxisAlignment}.
+     */
+    public void invalidateLayoutCache() {
+        this.layoutCache.invalidate();
+        IGuiElement element = this.parent;
+        while (element.hasParent()) {
+            element = element.getParent();
+            if (element instanceof IWidget widget && widget.getFlex() != null) {
+                widget.getFlex().layoutCache.invalidate();
+            }
+        }
+    }
+
+    private boolean isLayoutCacheable(IResizeable parentResizer) {
+        return ModularUIConfig.layoutCache && parentResizer != null && this.relativeToParent && !this.expanded &&
+                !this.x.hasDynamicUnit() && !this.y.hasDynamicUnit();
+    }
+
+    private int getCachedDefaultWidth(boolean customDefaultSize) {
+        return customDefaultSize && this.x.usesDefaultSize() ? this.parent.getDefaultWidth() : 0;
+    }
+
+    private int getCachedDefaultHeight(boolean customDefaultSize) {
+        return customDefaultSize && this.y.usesDefaultSize() ? this.parent.getDefaultHeight() : 0;
+    }
+
+    /**
+     * Tries to reuse the result of the last layout. This is possible if neither this flex, nor the parent size, nor margin
+     * and padding changed since then and the result of all children can be reused too. The children are not laid out again
+     * in that case.
+     *
+     * @param parentResizer resizer of the parent, which must already be resized as far as possible
+     * @return true if the last result was restored
+     */
+    @ApiStatus.Internal
+    public boolean reuseLayout(IResizeable parentResizer) {
+        if (!isLayoutCacheable(parentResizer)) return false;
+        boolean customDefaultSize = LayoutCache.hasCustomDefaultSize(this.parent);
+        if (!this.layoutCache.matches(getArea(), parentResizer,
+                getCachedDefaultWidth(customDefaultSize), getCachedDefaultHeight(customDefaultSize))) {
+            return false;
+        }
+        this.layoutCache.restore(getArea());
+        setResized(true);
+        setMarginPaddingApplied(false);
+        return true;
+    }
+
+    /**
+     * Stores the result of a finished layout, so it can be reused by {@link #reuseLayout(IResizeable)}.
+     */
+    @ApiStatus.Internal
+    public void storeLayout() {
+        IResizeable parentResizer = this.parent.hasParent() ? this.parent.getParent().resizer() : null;
+        if (!isLayoutCacheable(parentResizer)) {
+            this.layoutCache.invalidate();
+            return;
+        }
+        boolean childrenStable = true;
+        if (this.parent instanceof IWidget widget && widget.hasChildren()) {
+            for (IWidget child : widget.getChildren()) {
+                Flex flex = child.getFlex();
+                if (flex == null || child.resizer() != flex || !flex.layoutCache.isStable()) {
+                    childrenStable = false;
+                    break;
+                }
+            }
+        }
+        boolean customDefaultSize = LayoutCache.hasCustomDefaultSize(this.parent);
+        // a content measuring default size is only compared for this widget, parents don't check it
+        boolean stable = !customDefaultSize || (!this.x.usesDefaultSize() && !this.y.usesDefaultSize());
+        this.layoutCache.store(getArea(), parentResizer, getCachedDefaultWidth(customDefaultSize),
+                getCachedDefaultHeight(customDefaultSize), childrenStable, stable);
+    }
+
     @Override
     public void applyPos(IGuiElement parent) {
         Area relativeTo = getRelativeTo().getArea();
@@ -0,0 +1,115 @@
+package com.cleanroommc.modularui.widget.sizer;
+
+import com.cleanroommc.modularui.api.layout.IResizeable;
+import com.cleanroommc.modularui.api.widget.IGuiElement;
+
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.Arrays;
+
+/**
+ * The result of the last layout of a {@link Flex} together with everything outside the flex the result depends on. When
+ * these constraints didn't change the result can be reused without laying out the widget and its children again.
+ * <p>
+ * The key consists of the parent size and whether it is calculated, the parent padding, the margin and padding of the widget
+ * and the default size of the widget if it measures its content.
+ */
+@ApiStatus.Internal
+public class LayoutCache {
+
+    private static final int KEY_SIZE = 18;
+
+    private static final ClassValue<Boolean> CUSTOM_DEFAULT_SIZE = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            try {
+                return type.getMethod("getDefaultWidth").getDeclaringClass() != IGuiElement.class ||
+                        type.getMethod("getDefaultHeight").getDeclaringClass() != IGuiElement.class;
+            } catch (NoSuchMethodException e) {
+                return true;
+            }
+        }
+    };
+
+    private final int[] key = new int[KEY_SIZE];
+    private final int[] current = new int[KEY_SIZE];
+    private int rx, ry, width, height;
+    private boolean valid = false;
+    private boolean childrenStable = false;
+    private boolean stable = false;
+
+    /**
+     * @param element gui element
+     * @return true if the default size of the element is not the constant default size, f.e. because it measures a text
+     */
+    public static boolean hasCustomDefaultSize(IGuiElement element) {
+        return CUSTOM_DEFAULT_SIZE.get(element.getClass());
+    }
+
+    private static void writeKey(int[] key, Area area, IResizeable parent, int defaultWidth, int defaultHeight) {
+        Area parentArea = parent.getArea();
+        key[0] = parentArea.width;
+        key[1] = parentArea.height;
+        key[2] = parent.isWidthCalculated() ? 1 : 0;
+        key[3] = parent.isHeightCalculated() ? 1 : 0;
+        writeBox(key, 4, parentArea.getPadding());
+        writeBox(key, 8, area.getMargin());
+        writeBox(key, 12, area.getPadding());
+        key[16] = defaultWidth;
+        key[17] = defaultHeight;
+    }
+
+    private static void writeBox(int[] key, int index, Box box) {
+        key[index] = box.left;
+        key[index + 1] = box.right;
+        key[index + 2] = box.top;
+        key[index + 3] = box.bottom;
+    }
+
+    /**
+     * Checks if the stored result can be used for the current constraints. This is only the case if all children can reuse
+     * their result as well, since they are not laid out again.
+     *
+     * @return true if the stored result is still valid
+     */
+    public boolean matches(Area area, IResizeable parent, int defaultWidth, int defaultHeight) {
+        if (!this.valid || !this.childrenStable) return false;
+        writeKey(this.current, area, parent, defaultWidth, defaultHeight);
+        return Arrays.equals(this.key, this.current);
+    }
+
+    /**
+     * Stores the result of a finished layout. Margin and padding must not be applied to the position yet.
+     *
+     * @param childrenStable if all children stored a stable result
+     * @param stable         if the result only depends on the key and on the children
+     */
+    public void store(Area area, IResizeable parent, int defaultWidth, int defaultHeight, boolean childrenStable, boolean stable) {
+        writeKey(this.key, area, parent, defaultWidth, defaultHeight);
+        this.rx = area.rx;
+        this.ry = area.ry;
+        this.width = area.width;
+        this.height = area.height;
+        this.childrenStable = childrenStable;
+        this.stable = stable && childrenStable;
+        this.valid = true;
+    }
+
+    public void restore(Area area) {
+        area.rx = this.rx;
+        area.ry = this.ry;
+        area.width = this.width;
+        area.height = this.height;
+    }
+
+    public void invalidate() {
+        this.valid = false;
+    }
+
+    /**
+     * @return true if a parent may reuse its result without laying out this widget
+     */
+    public boolean isStable() {
+        return this.valid && this.stable;
+    }
+}
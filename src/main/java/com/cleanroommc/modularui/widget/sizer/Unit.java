@@ -46,6 +46,13 @@ public class Unit {
         this.valueSupplier = valueSupplier;
     }
 
+    /**
+     * @return true if the value is calculated by a supplier and can change at any time
+     */
+    public boolean isDynamic() {
+        return this.valueSupplier != null;
+    }
+
     public float getValue() {
         return this.valueSupplier == null ? this.value : (float) this.valueSupplier.getAsDouble();
     }
@@ -75,7 +75,7 @@ public class ListWidget<T, I extends IWidget, W extends ListWidget<T, I, W>> ext
     public boolean add(T value, int index) {
         if (addChild(this.valueToWidgetMapper.apply(value), index)) {
             if (isValid()) {
-                WidgetTree.resize(this);
+                WidgetTree.scheduleResize(this);
             }
             return true;
         }
@@ -87,8 +87,9 @@ public class SortableListWidget<T, I extends SortableListWidget.Item<T>> extends
         Item<?> child = (Item<?>) getChildren().remove(from);
         getChildren().add(to, child);
         assignIndexes();
+        flex().invalidateLayoutCache();
         if (isValid()) {
-            WidgetTree.resize(this);
+            WidgetTree.scheduleResize(this);
         }
         if (this.onChange != null) {
             this.onChange.accept(getValues());
@@ -100,8 +101,9 @@ public class SortableListWidget<T, I extends SortableListWidget.Item<T>> extends
         IWidget widget = getChildren().remove(index);
         if (widget != null) {
             assignIndexes();
+            flex().invalidateLayoutCache();
             if (isValid()) {
-                WidgetTree.resize(this);
+                WidgetTree.scheduleResize(this);
             }
             if (this.onChange != null) {
                 this.onChange.accept(getValues());
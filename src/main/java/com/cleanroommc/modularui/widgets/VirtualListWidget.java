@@ -0,0 +1,324 @@
+package com.cleanroommc.modularui.widgets;
+
+import com.cleanroommc.modularui.api.GuiAxis;
+import com.cleanroommc.modularui.api.layout.ILayoutWidget;
+import com.cleanroommc.modularui.api.widget.IWidget;
+import com.cleanroommc.modularui.screen.viewport.GuiContext;
+import com.cleanroommc.modularui.theme.WidgetTheme;
+import com.cleanroommc.modularui.value.sync.PagedListSyncHandler;
+import com.cleanroommc.modularui.widget.ScrollWidget;
+import com.cleanroommc.modularui.widget.WidgetTree;
+import com.cleanroommc.modularui.widget.scroll.ScrollData;
+import com.cleanroommc.modularui.widget.scroll.VerticalScrollData;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.IntFunction;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+/**
+ * A list which only creates widgets for the rows inside the visible area plus a few rows before and after it. When the list
+ * is scrolled, rows which left the visible area are reused for the rows which entered it. This makes lists with thousands
+ * of entries possible.
+ * <p>
+ * All rows must have the same size along the scroll axis (see {@link #rowSize(int)}). With {@link #columns(int, int)} each
+ * line contains multiple entries, which makes this a grid where every cell has the same size. Since rows are created after the GUI
+ * is opened, they should not contain synced widgets with a sync key. Use a {@link PagedListSyncHandler} to sync the data
+ * instead.
+ *
+ * @param <T> type of list entries
+ * @param <I> type of row widgets
+ */
+public class VirtualListWidget<T, I extends IWidget> extends ScrollWidget<VirtualListWidget<T, I>> implements ILayoutWidget {
+
+    private final Supplier<I> rowFactory;
+    private final RowBinder<T, I> rowBinder;
+    private IntSupplier sizeGetter = () -> 0;
+    private IntFunction<T> valueGetter = i -> null;
+    private ScrollData scrollData;
+    private int rowSize = 18;
+    private int columns = 1;
+    private int columnSize = 18;
+    private int overscan = 2;
+
+    // index of the first bound row
+    private int firstIndex = 0;
+    private int size = 0;
+    // the entry index each row is bound to, a row is always bound to an index with index % rows == row
+    private int[] boundIndexes = new int[0];
+    private boolean rebindAll = true;
+    private PagedListSyncHandler<T> pagedSource;
+    private final Runnable refreshListener = this::refresh;
+
+    /**
+     * @param rowFactory creates a new row widget
+     * @param rowBinder  updates a row widget to show an entry
+     */
+    public VirtualListWidget(@NotNull Supplier<I> rowFactory, @NotNull RowBinder<T, I> rowBinder) {
+        super(new VerticalScrollData());
+        this.rowFactory = Objects.requireNonNull(rowFactory);
+        this.rowBinder = Objects.requireNonNull(rowBinder);
+        this.scrollData = getScrollArea().getScrollY();
+    }
+
+    /**
+     * Sets the data source of this list. The size is checked every frame.
+     *
+     * @param sizeGetter  size of the list
+     * @param valueGetter entry at an index
+     * @return this
+     */
+    public VirtualListWidget<T, I> dataSource(@NotNull IntSupplier sizeGetter, @NotNull IntFunction<T> valueGetter) {
+        setPagedSource(null);
+        return setDataSource(sizeGetter, valueGetter);
+    }
+
+    private VirtualListWidget<T, I> setDataSource(IntSupplier sizeGetter, IntFunction<T> valueGetter) {
+        this.sizeGetter = Objects.requireNonNull(sizeGetter);
+        this.valueGetter = Objects.requireNonNull(valueGetter);
+        this.rebindAll = true;
+        return this;
+    }
+
+    public VirtualListWidget<T, I> dataSource(@NotNull List<T> list) {
+        Objects.requireNonNull(list);
+        return dataSource(list::size, list::get);
+    }
+
+    /**
+     * Uses the entries which are synced by a paged list sync handler and tells it which entries are visible. Entries which
+     * are not synced yet are bound as null.
+     *
+     * @param syncHandler paged list sync handler
+     * @return this
+     */
+    public VirtualListWidget<T, I> dataSource(@NotNull PagedListSyncHandler<T> syncHandler) {
+        setPagedSource(Objects.requireNonNull(syncHandler));
+        return setDataSource(syncHandler::getSize, syncHandler::getEntry);
+    }
+
+    private void setPagedSource(PagedListSyncHandler<T> syncHandler) {
+        if (this.pagedSource != null) {
+            this.pagedSource.removeChangeListener(this.refreshListener);
+        }
+        this.pagedSource = syncHandler;
+        if (syncHandler != null) {
+            syncHandler.addChangeListener(this.refreshListener);
+        }
+    }
+
+    /**
+     * @param rowSize size of every row along the scroll axis
+     * @return this
+     */
+    public VirtualListWidget<T, I> rowSize(int rowSize) {
+        if (rowSize < 1) throw new IllegalArgumentException("Row size must be at least 1, but was " + rowSize);
+        this.rowSize = rowSize;
+        scheduleLayout();
+        return this;
+    }
+
+    /**
+     * Puts multiple entries next to each other in each line. Entries are laid out line by line.
+     *
+     * @param columns    amount of entries per line
+     * @param columnSize size of every entry across the scroll axis
+     * @return this
+     */
+    public VirtualListWidget<T, I> columns(int columns, int columnSize) {
+        if (columns < 1) throw new IllegalArgumentException("Column count must be at least 1, but was " + columns);
+        if (columnSize < 1) throw new IllegalArgumentException("Column size must be at least 1, but was " + columnSize);
+        this.columns = columns;
+        this.columnSize = columnSize;
+        scheduleLayout();
+        return this;
+    }
+
+    /**
+     * @param overscan amount of lines before and after the visible area which are kept
+     * @return this
+     */
+    public VirtualListWidget<T, I> overscan(int overscan) {
+        this.overscan = Math.max(0, overscan);
+        scheduleLayout();
+        return this;
+    }
+
+    public VirtualListWidget<T, I> scrollDirection(ScrollData data) {
+        if (this.scrollData.getAxis() != data.getAxis()) {
+            this.scrollData = data;
+            getScrollArea().removeScrollData();
+            getScrollArea().setScrollData(this.scrollData);
+            scheduleLayout();
+        }
+        return this;
+    }
+
+    /**
+     * Binds all visible rows again. Should be called when entries changed, but the size of the list didn't.
+     */
+    public void refresh() {
+        scheduleLayout();
+    }
+
+    private void scheduleLayout() {
+        this.rebindAll = true;
+        if (isValid()) {
+            WidgetTree.scheduleResize(this);
+        }
+    }
+
+    private int getRequiredRows() {
+        int visible = this.scrollData.getVisibleSize(getScrollArea());
+        return ((visible + this.rowSize - 1) / this.rowSize + 1 + 2 * this.overscan) * this.columns;
+    }
+
+    private int getLineCount(int size) {
+        return (size + this.columns - 1) / this.columns;
+    }
+
+    private int getFirstIndex(int size, int rows) {
+        int firstLine = Math.max(0, this.scrollData.getScroll() / this.rowSize - this.overscan);
+        firstLine = Math.min(firstLine, Math.max(0, getLineCount(size) - rows / this.columns));
+        return firstLine * this.columns;
+    }
+
+    @Override
+    public void onUpdate() {
+        super.onUpdate();
+        if (this.pagedSource != null) {
+            int scroll = this.scrollData.getScroll();
+            int startLine = scroll / this.rowSize;
+            int endLine = (scroll + this.scrollData.getVisibleSize(getScrollArea()) + this.rowSize - 1) / this.rowSize;
+            this.pagedSource.setVisibleRange(startLine * this.columns, endLine * this.columns);
+        }
+    }
+
+    @Override
+    public void draw(GuiContext context, WidgetTheme widgetTheme) {
+        super.draw(context, widgetTheme);
+        // rows are rebound in the layout, so the new rows are visible from next frame on, the overscan hides the delay
+        int size = this.sizeGetter.getAsInt();
+        if (size != this.size ||
+                getFirstIndex(size, getChildren().size()) != this.firstIndex ||
+                getRequiredRows() != getChildren().size()) {
+            WidgetTree.scheduleResize(this);
+        }
+    }
+
+    @Override
+    public void beforeResize() {
+        super.beforeResize();
+        int size = this.sizeGetter.getAsInt();
+        if (size != this.size) {
+            // rows at the end might need to be enabled or disabled
+            this.size = size;
+            this.rebindAll = true;
+        }
+        int rows = getRequiredRows();
+        if (rows != getChildren().size()) {
+            while (getChildren().size() > rows) {
+                remove(getChildren().size() - 1);
+            }
+            while (getChildren().size() < rows) {
+                addChild(this.rowFactory.get(), -1);
+            }
+            this.boundIndexes = new int[rows];
+            this.rebindAll = true;
+        }
+        this.firstIndex = getFirstIndex(this.size, rows);
+        for (int index = this.firstIndex; index < this.firstIndex + rows; index++) {
+            int row = index % rows;
+            // only rows which now show a different entry are bound
+            if (this.rebindAll || this.boundIndexes[row] != index) {
+                this.boundIndexes[row] = index;
+                I widget = getRow(row);
+                boolean exists = index < this.size;
+                widget.setEnabled(exists);
+                if (exists) {
+                    this.rowBinder.bind(widget, index, this.valueGetter.apply(index));
+                }
+            }
+        }
+        this.rebindAll = false;
+    }
+
+    @SuppressWarnings("unchecked")
+    private I getRow(int row) {
+        return (I) getChildren().get(row);
+    }
+
+    @Override
+    public void layoutWidgets() {
+        GuiAxis axis = this.scrollData.getAxis();
+        GuiAxis other = axis.getOther();
+        int start = getArea().getPadding().getStart(axis);
+        int otherStart = getArea().getPadding().getStart(other);
+        for (int row = 0, rows = getChildren().size(); row < rows && row < this.boundIndexes.length; row++) {
+            IWidget widget = getChildren().get(row);
+            int index = this.boundIndexes[row];
+            widget.getArea().setRelativePoint(axis, start + index / this.columns * this.rowSize + widget.getArea().getMargin().getStart(axis));
+            if (this.columns > 1) {
+                widget.getArea().setRelativePoint(other, otherStart + index % this.columns * this.columnSize + widget.getArea().getMargin().getStart(other));
+                widget.resizer().setPosResized(true, true);
+            } else if (axis.isHorizontal()) {
+                widget.resizer().setXResized(true);
+            } else {
+                widget.resizer().setYResized(true);
+            }
+        }
+        this.scrollData.setScrollSize(start + getLineCount(this.size) * this.rowSize + getArea().getPadding().getEnd(axis));
+    }
+
+    /**
+     * @return the amount of entries in the list
+     */
+    public int getSize() {
+        return this.size;
+    }
+
+    public int getRowSize() {
+        return this.rowSize;
+    }
+
+    public int getColumns() {
+        return this.columns;
+    }
+
+    /**
+     * Finds the widget of an entry in constant time.
+     *
+     * @param line   line index along the scroll axis
+     * @param column column in the line
+     * @return the widget of the entry or null if it's not inside the visible area
+     */
+    @Nullable
+    public I getCell(int line, int column) {
+        if (column < 0 || column >= this.columns) return null;
+        int index = line * this.columns + column;
+        int rows = this.boundIndexes.length;
+        if (index < this.firstIndex || index >= this.firstIndex + rows || index >= this.size) return null;
+        return getRow(index % rows);
+    }
+
+    public ScrollData getScrollData() {
+        return this.scrollData;
+    }
+
+    /**
+     * Shows an entry in a row widget.
+     */
+    public interface RowBinder<T, I extends IWidget> {
+
+        /**
+         * @param row   row widget
+         * @param index index of the entry
+         * @param value the entry, which might be null if the data source doesn't have it yet
+         */
+        void bind(I row, int index, @Nullable T value);
+    }
+}
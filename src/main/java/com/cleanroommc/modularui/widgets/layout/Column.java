@@ -118,11 +118,13 @@ public class Column extends ParentWidget<Column> implements ILayoutWidget, IExpa
 
     public Column crossAxisAlignment(Alignment.CrossAxis caa) {
         this.caa = caa;
+        flex().invalidateLayoutCache();
         return this;
     }
 
     public Column mainAxisAlignment(Alignment.MainAxis maa) {
         this.maa = maa;
+        flex().invalidateLayoutCache();
         return this;
     }
 
@@ -1,7 +1,10 @@
 package com.cleanroommc.modularui.widgets.layout;
 
 import com.cleanroommc.modularui.api.layout.ILayoutWidget;
+import com.cleanroommc.modularui.api.layout.IViewport;
+import com.cleanroommc.modularui.api.layout.IViewportStack;
 import com.cleanroommc.modularui.api.widget.IWidget;
+import com.cleanroommc.modularui.utils.HoveredWidgetList;
 import com.cleanroommc.modularui.widget.ScrollWidget;
 import com.cleanroommc.modularui.widget.scroll.HorizontalScrollData;
 import com.cleanroommc.modularui.widget.scroll.ScrollData;
@@ -17,14 +20,16 @@ import org.jetbrains.annotations.Nullable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Objects;
-import java.util.stream.Collectors;
 
 public class Grid extends ScrollWidget<Grid> implements ILayoutWidget {
 
     private final List<List<IWidget>> matrix = new ArrayList<>();
     private final Box minElementMargin = new Box();
     private int minRowHeight = 5, minColWidth = 5;
+    // 0 if cells are sized by their largest widget
+    private int cellWidth = 0, cellHeight = 0;
+    private final IntArrayList rowSizes = new IntArrayList();
+    private final IntArrayList colSizes = new IntArrayList();
     private boolean dirty = false;
 
     public Grid() {
@@ -53,10 +58,28 @@ public class Grid extends ScrollWidget<Grid> implements ILayoutWidget {
         return area.height + Math.max(area.getMargin().top, this.minElementMargin.top) + Math.max(area.getMargin().bottom, this.minElementMargin.bottom);
     }
 
+    private boolean hasUniformCells() {
+        return this.cellWidth > 0 && this.cellHeight > 0;
+    }
+
+    private int getColumnCount() {
+        int columns = 0;
+        for (List<IWidget> row : this.matrix) {
+            columns = Math.max(columns, row.size());
+        }
+        return columns;
+    }
+
     @Override
     public void layoutWidgets() {
-        IntList rowSizes = new IntArrayList();
-        IntList colSizes = new IntArrayList();
+        if (hasUniformCells()) {
+            layoutUniformWidgets();
+            return;
+        }
+        IntList rowSizes = this.rowSizes;
+        IntList colSizes = this.colSizes;
+        rowSizes.clear();
+        colSizes.clear();
 
         int i = 0, j;
         for (List<IWidget> row : this.matrix) {
@@ -78,9 +101,9 @@ public class Grid extends ScrollWidget<Grid> implements ILayoutWidget {
         int x = 0, y = 0;
         for (int r = 0; r < rowSizes.size(); r++) {
             x = 0;
-            int height = rowSizes.get(r);
+            int height = rowSizes.getInt(r);
             for (int c = 0; c < colSizes.size(); c++) {
-                int width = colSizes.get(c);
+                int width = colSizes.getInt(c);
                 IWidget child = this.matrix.get(r).get(c);
                 if (child != null) {
                     child.getArea().rx = (int) (x + width * 0.5 - child.getArea().width * 0.5);
@@ -99,6 +122,56 @@ public class Grid extends ScrollWidget<Grid> implements ILayoutWidget {
         }
     }
 
+    private void layoutUniformWidgets() {
+        // all cells have the same size, so no widget needs to be measured first
+        for (int r = 0; r < this.matrix.size(); r++) {
+            List<IWidget> row = this.matrix.get(r);
+            for (int c = 0; c < row.size(); c++) {
+                IWidget child = row.get(c);
+                if (child != null) {
+                    child.getArea().rx = c * this.cellWidth + (this.cellWidth - child.getArea().width) / 2;
+                    child.getArea().ry = r * this.cellHeight + (this.cellHeight - child.getArea().height) / 2;
+                    child.resizer().setPosResized(true, true);
+                }
+            }
+        }
+        if (getScrollArea().getScrollX() != null) {
+            getScrollArea().getScrollX().setScrollSize(getColumnCount() * this.cellWidth);
+        }
+        if (getScrollArea().getScrollY() != null) {
+            getScrollArea().getScrollY().setScrollSize(this.matrix.size() * this.cellHeight);
+        }
+    }
+
+    @Override
+    public void getWidgetsAt(IViewportStack stack, HoveredWidgetList widgets, int x, int y) {
+        if (!hasUniformCells()) {
+            super.getWidgetsAt(stack, widgets, x, y);
+            return;
+        }
+        // only the widget of the cell below the mouse can be hovered
+        if (getArea().isInside(x, y) && !getScrollArea().isInsideScrollbarArea(x, y)) {
+            int localX = stack.unTransformX(x, y), localY = stack.unTransformY(x, y);
+            if (localX < 0 || localY < 0) return;
+            IWidget child = getChild(localY / this.cellHeight, localX / this.cellWidth);
+            if (child != null && child.isEnabled()) {
+                IViewport.getChildAt(this, child, stack, widgets, x, y);
+            }
+        }
+    }
+
+    /**
+     * @param row    row index
+     * @param column column index
+     * @return the widget in the cell or null if the cell is empty or doesn't exist
+     */
+    @Nullable
+    public IWidget getChild(int row, int column) {
+        if (row < 0 || row >= this.matrix.size()) return null;
+        List<IWidget> widgets = this.matrix.get(row);
+        return column >= 0 && column < widgets.size() ? widgets.get(column) : null;
+    }
+
     @Override
     public @NotNull List<IWidget> getChildren() {
         if (this.dirty) {
@@ -109,12 +182,23 @@ public class Grid extends ScrollWidget<Grid> implements ILayoutWidget {
     }
 
     private void makeFlatList() {
-        super.getChildren().clear();
-        super.getChildren().addAll(this.matrix.stream().flatMap(List::stream).filter(Objects::nonNull).collect(Collectors.toList()));
+        List<IWidget> children = super.getChildren();
+        children.clear();
+        for (List<IWidget> row : this.matrix) {
+            for (IWidget widget : row) {
+                if (widget != null) {
+                    children.add(widget);
+                }
+            }
+        }
+        flex().invalidateLayoutCache();
     }
 
     @Override
     public int getDefaultHeight() {
+        if (hasUniformCells()) {
+            return this.matrix.size() * this.cellHeight;
+        }
         int h = 0;
         for (List<IWidget> row : this.matrix) {
             int rowHeight = 0;
@@ -130,6 +214,9 @@ public class Grid extends ScrollWidget<Grid> implements ILayoutWidget {
 
     @Override
     public int getDefaultWidth() {
+        if (hasUniformCells()) {
+            return getColumnCount() * this.cellWidth;
+        }
         IntList colSizes = new IntArrayList();
         int i = 0, j;
         for (List<? extends IWidget> row : this.matrix) {
@@ -182,6 +269,7 @@ public class Grid extends ScrollWidget<Grid> implements ILayoutWidget {
             index = getChildren().size() + index + 1;
         }
         super.getChildren().add(index, child);
+        flex().invalidateLayoutCache();
         if (isValid()) {
             child.initialise(this);
         }
@@ -215,6 +303,26 @@ public class Grid extends ScrollWidget<Grid> implements ILayoutWidget {
         return this;
     }
 
+    /**
+     * Makes every cell the same size. Widgets are centered in their cell. Widgets are no longer measured to find the row and
+     * column sizes and the hovered widget is found directly from the mouse position, which makes very large grids cheaper.
+     * Widgets larger than the cell overlap their neighbours.
+     *
+     * @param cellWidth  width of every cell including margin
+     * @param cellHeight height of every cell including margin
+     * @return this
+     * @see com.cleanroommc.modularui.widgets.VirtualListWidget#columns(int, int) for grids which only create widgets for
+     * visible cells
+     */
+    public Grid uniformCells(int cellWidth, int cellHeight) {
+        if (cellWidth < 1 || cellHeight < 1) {
+            throw new IllegalArgumentException("Cell size must be at least 1, but was " + cellWidth + "x" + cellHeight);
+        }
+        this.cellWidth = cellWidth;
+        this.cellHeight = cellHeight;
+        return this;
+    }
+
     public Grid scrollable() {
         return scrollable(new VerticalScrollData(), new HorizontalScrollData());
     }
@@ -116,11 +116,13 @@ public class Row extends ParentWidget<Row> implements ILayoutWidget, IExpander {
 
     public Row crossAxisAlignment(Alignment.CrossAxis caa) {
         this.caa = caa;
+        flex().invalidateLayoutCache();
         return this;
     }
 
     public Row mainAxisAlignment(Alignment.MainAxis maa) {
         this.maa = maa;
+        flex().invalidateLayoutCache();
         return this;
     }
 
@@ -26,6 +26,7 @@ public class SlotGroup {
     private final int shiftClickPriority;
     private final boolean allowShiftTransfer;
     private boolean allowSorting = true;
+    private boolean bulkSync = false;
     private final boolean singleton;
 
     /**
@@ -113,4 +114,21 @@ public class SlotGroup {
         this.allowSorting = allowSorting;
         return this;
     }
+
+    public boolean isBulkSync() {
+        return this.bulkSync;
+    }
+
+    /**
+     * If bulk sync is enabled, all slots of this group are checked for changes together and all changes of a tick are synced
+     * in a single packet. This is useful for large groups which often change at once, f.e. when sorted. Must be set before
+     * the group is registered.
+     *
+     * @param bulkSync true if the slots of this group are synced together
+     * @return this
+     */
+    public SlotGroup setBulkSync(boolean bulkSync) {
+        this.bulkSync = bulkSync;
+        return this;
+    }
 }
@@ -0,0 +1,55 @@
+package com.cleanroommc.modularui.network.packets;
+
+import net.minecraft.network.PacketBuffer;
+
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks that {@link PacketSyncBatch} releases every sync buffer it reads, also when reading fails halfway. The packets hold
+ * retained slices of the received buffer, so a leak shows up as a reference count above 1.
+ */
+public class SyncBufferLeakTest {
+
+    @Test
+    public void testReadAndRelease() {
+        PacketBuffer received = writeBatch(3, 3);
+        try {
+            PacketSyncBatch batch = new PacketSyncBatch();
+            batch.read(received);
+            assertEquals(4, received.refCnt(), "every read packet should retain the received buffer");
+            batch.release();
+            assertEquals(1, received.refCnt(), "released batch leaked sync buffers");
+        } finally {
+            received.release(received.refCnt());
+        }
+    }
+
+    @Test
+    public void testTruncatedBatch() {
+        // claims 3 packets, but only contains 2
+        PacketBuffer received = writeBatch(3, 2);
+        try {
+            assertThrows(IndexOutOfBoundsException.class, () -> new PacketSyncBatch().read(received));
+            assertEquals(1, received.refCnt(), "truncated batch leaked sync buffers");
+        } finally {
+            received.release(received.refCnt());
+        }
+    }
+
+    private static PacketBuffer writeBatch(int size, int written) {
+        PacketBuffer buffer = new PacketBuffer(Unpooled.buffer());
+        buffer.writeVarInt(size);
+        for (int i = 0; i < written; i++) {
+            PacketBuffer data = new PacketBuffer(Unpooled.buffer());
+            data.writeVarInt(0);
+            data.writeBytes(new byte[]{1, 2, 3});
+            new PacketSyncHandler("test:" + i, i % 2 == 0 ? i : -1, data).write(buffer);
+            data.release();
+        }
+        return buffer;
+    }
+}
@@ -0,0 +1,81 @@
+package com.cleanroommc.modularui.widget;
+
+import com.cleanroommc.modularui.api.widget.IWidget;
+import com.cleanroommc.modularui.utils.ObjectList;
+
+import java.util.function.Supplier;
+
+/**
+ * Measures a breadth first traversal like {@link WidgetTree#foreachChildBFS(IWidget, java.util.function.Predicate)} over
+ * widget trees of different sizes, once with the array list and once with the ring buffer {@link ObjectList}. The tree is a
+ * list of rows with one child each, which keeps all rows in the queue at once. Runs without a game. It is not a unit test,
+ * run {@link #main(String[])} from the IDE.
+ */
+public class TreeTraversalBenchmark {
+
+    private static final int[] SIZES = {100, 1_000, 3_000, 10_000, 30_000};
+
+    public static void main(String[] args) {
+        System.out.println("widgets, array list (us), deque (us), WidgetTree (us)");
+        for (int size : SIZES) {
+            IWidget root = createTree(size);
+            // small trees are traversed more often to get a stable time
+            int iterations = Math.max(10, 1_000_000 / size);
+            // warm up
+            run(root, ObjectList::create, iterations);
+            run(root, ObjectList::deque, iterations);
+            double arrayList = run(root, ObjectList::create, iterations);
+            double deque = run(root, ObjectList::deque, iterations);
+            double widgetTree = runWidgetTree(root, iterations);
+            System.out.printf("%d, %.1f, %.1f, %.1f%n", size, arrayList, deque, widgetTree);
+        }
+    }
+
+    private static IWidget createTree(int size) {
+        ParentWidget<?> root = new ParentWidget<>();
+        for (int i = 0; i < size / 2; i++) {
+            root.child(new ParentWidget<>().child(new Widget<>()));
+        }
+        return root;
+    }
+
+    /**
+     * @return average microseconds per traversal
+     */
+    private static double run(IWidget root, Supplier<ObjectList<IWidget>> queueFactory, int iterations) {
+        int visited = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            ObjectList<IWidget> parents = queueFactory.get();
+            parents.add(root);
+            while (!parents.isEmpty()) {
+                for (IWidget child : parents.removeFirst().getChildren()) {
+                    if (child.hasChildren()) {
+                        parents.addLast(child);
+                    }
+                    visited++;
+                }
+            }
+        }
+        return result(start, iterations, visited);
+    }
+
+    private static double runWidgetTree(IWidget root, int iterations) {
+        int[] visited = {0};
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            WidgetTree.foreachChildBFS(root, widget -> {
+                visited[0]++;
+                return true;
+            });
+        }
+        return result(start, iterations, visited[0]);
+    }
+
+    private static double result(long start, int iterations, int visited) {
+        double micros = (System.nanoTime() - start) / 1000.0 / iterations;
+        // use the result, so the traversal can't be optimised away
+        if (visited == 0) throw new IllegalStateException();
+        return micros;
+    }
+}